@@ -0,0 +1,78 @@
+package actors;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A mailbox whose messages are processed one at a time, in the order they were sent
+ * The actor is scheduled on the pool of its system only while it has messages,
+ * and gives its thread back after a fixed number of them, so busy actors can't starve the rest
+ */
+final class Actor implements Runnable {
+    private static final int THROUGHPUT = 64;
+    private static final ThreadLocal<Actor> CURRENT = new ThreadLocal<>();
+
+    private final ActorSystem system;
+    private final ConcurrentLinkedQueue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    Actor(final ActorSystem system) {
+        this.system = system;
+    }
+
+    /**
+     * Gets the actor whose message is processed on the current thread
+     *
+     * @return The actor, or {@code null} if the thread isn't processing a message
+     */
+    static Actor current() {
+        return CURRENT.get();
+    }
+
+    ActorSystem getSystem() {
+        return system;
+    }
+
+    /**
+     * Adds a message to the mailbox and schedules the actor if it isn't already
+     *
+     * @param message The message to be processed
+     */
+    void tell(final Runnable message) {
+        system.sent();
+        mailbox.add(message);
+        schedule();
+    }
+
+    @Override
+    public void run() {
+        CURRENT.set(this);
+        try {
+            for (int i = 0; i < THROUGHPUT; i++) {
+                Runnable message = mailbox.poll();
+                if (message == null) {
+                    break;
+                }
+                try {
+                    message.run();
+                } catch (RuntimeException | Error e) {
+                    system.failed(e);
+                } finally {
+                    system.processed();
+                }
+            }
+        } finally {
+            CURRENT.remove();
+            scheduled.set(false);
+        }
+        if (!mailbox.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            system.execute(this);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package actors;
+
+import java.io.Closeable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Actors addressed by name, sharing a pool of threads
+ * Every user's work runs on an actor of their own, so the work of different users runs
+ * concurrently without any lock between them
+ * State owned by someone else is never changed directly from an actor: the change is sent
+ * as a message, either to the actor of its creator (listens of artists and hosts), or to the
+ * actor that owns all the usage counts (loaded songs and collections, viewed pages)
+ * Outside actors, these changes happen right away, as they always did
+ */
+public final class ActorSystem implements Closeable {
+    private final ForkJoinPool pool;
+    private final ConcurrentHashMap<String, Actor> actors = new ConcurrentHashMap<>();
+    private final Actor usageCounts = new Actor(this);
+    /**
+     * The messages that were sent but not processed yet
+     */
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final Object idle = new Object();
+
+    /**
+     * Creates the actor system
+     *
+     * @param parallelism The number of threads the actors run on
+     */
+    public ActorSystem(final int parallelism) {
+        pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+                null, true);
+    }
+
+    /**
+     * Sends a message to the actor with the specified name, creating the actor if needed
+     *
+     * @param name    The name of the actor (the name of the user it works for)
+     * @param message The message to be processed
+     */
+    public void tell(final String name, final Runnable message) {
+        actors.computeIfAbsent(name, key -> new Actor(this)).tell(message);
+    }
+
+    /**
+     * Changes state owned by a creator (artist or host) on the creator's actor
+     *
+     * @param creator The name of the creator
+     * @param effect  The change
+     */
+    public static void sendToCreator(final String creator, final Runnable effect) {
+        Actor current = Actor.current();
+        if (current == null) {
+            effect.run();
+        } else {
+            current.getSystem().tell(creator, effect);
+        }
+    }
+
+    /**
+     * Changes usage counts of songs, collections or users on the actor that owns them
+     * The counts of an owner and of the entities it owns are linked, so they all belong
+     * to a single actor
+     *
+     * @param effect The change
+     */
+    public static void sendToUsageCounts(final Runnable effect) {
+        Actor current = Actor.current();
+        if (current == null) {
+            effect.run();
+        } else {
+            current.getSystem().usageCounts.tell(effect);
+        }
+    }
+
+    /**
+     * Checks if the current thread is processing a message of an actor
+     *
+     * @return {@code true} if it is, {@code false} otherwise
+     */
+    public static boolean isOnActor() {
+        return Actor.current() != null;
+    }
+
+    /**
+     * Waits until every message was processed, including the ones sent while waiting
+     *
+     * @throws IllegalStateException if a message failed since the last wait
+     */
+    public void awaitIdle() {
+        synchronized (idle) {
+            while (pending.get() > 0) {
+                try {
+                    idle.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the actors", e);
+                }
+            }
+        }
+        Throwable failed = failure.getAndSet(null);
+        if (failed != null) {
+            throw new IllegalStateException("A message failed on an actor", failed);
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    void execute(final Actor actor) {
+        pool.execute(actor);
+    }
+
+    void sent() {
+        pending.incrementAndGet();
+    }
+
+    void processed() {
+        if (pending.decrementAndGet() == 0) {
+            synchronized (idle) {
+                idle.notifyAll();
+            }
+        }
+    }
+
+    void failed(final Throwable cause) {
+        failure.compareAndSet(null, cause);
+    }
+}
@@ -0,0 +1,133 @@
+package actors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import commands.CommandType;
+import entities.user.NormalUser;
+import fileio.input.CommandInput;
+import libraries.users.NormalUsersLibrary;
+
+import java.io.Closeable;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Performs commands in actor mode
+ * The commands that only change the state of the user who gives them are sent to the mailbox
+ * of that user, so the commands of different users run concurrently, while the commands of
+ * a user still run in order
+ * Every other command changes or reads state shared between users (likes, follows,
+ * playlists, pages, everything done by the global managers), so it is a barrier:
+ * it waits until all the mailboxes are empty and runs on the calling thread
+ * So are the commands of users with an ad break pending: when it ends, the artists are paid
+ */
+public final class CommandActors implements Closeable {
+    public static final String PARALLELISM_PROPERTY = "actors.parallelism";
+    private static final EnumSet<CommandType> USER_COMMANDS = EnumSet.of(
+            CommandType.search, CommandType.select, CommandType.load,
+            CommandType.loadRecommendations, CommandType.playPause, CommandType.status,
+            CommandType.repeat, CommandType.shuffle, CommandType.next, CommandType.prev,
+            CommandType.forward, CommandType.backward, CommandType.showPlaylists,
+            CommandType.showPreferredSongs);
+
+    private final ActorSystem system;
+    private final Function<CommandInput, JsonNode> performer;
+
+    /**
+     * Creates the actors the commands are performed on
+     *
+     * @param parallelism The number of threads the actors run on
+     * @param performer   Performs a command and converts its output, {@code null} if it has none
+     *                    The output is converted by the actor, before later commands change it
+     */
+    public CommandActors(final int parallelism,
+                         final Function<CommandInput, JsonNode> performer) {
+        system = new ActorSystem(parallelism);
+        this.performer = performer;
+    }
+
+    /**
+     * Checks if a command only changes the state of the user who gives it
+     *
+     * @param command The command
+     * @return {@code true} if the command can run on the actor of its user
+     */
+    public static boolean isUserCommand(final CommandInput command) {
+        if (!USER_COMMANDS.contains(command.getCommand()) || command.getUsername() == null) {
+            return false;
+        }
+        NormalUser user = NormalUsersLibrary.getInstance().getUserByName(command.getUsername());
+        return user != null && !user.getApp().getPlayerManager().isAdBreak();
+    }
+
+    /**
+     * Catches up with the clock before a command stamped with the same time as the one before
+     * The clock isn't moved again for such a command, so only the player of its user is told
+     * that no time passed, whether the command is a user command or not
+     * The other players were already told about the time by the tick of the batch, and only
+     * the commands of their own users change them since, so there's nothing to fan out
+     *
+     * @param command The command about to be performed
+     */
+    public static void catchUp(final CommandInput command) {
+        if (isUserCommand(command)) {
+            NormalUsersLibrary.getInstance().getUserByName(command.getUsername()).getApp()
+                    .getPlayerManager().onTimeChanged(0);
+            return;
+        }
+        NormalUser user = command.getUsername() == null ? null
+                : NormalUsersLibrary.getInstance().getUserByName(command.getUsername());
+        if (user != null) {
+            user.onTimeChanged(0);
+        }
+    }
+
+    /**
+     * Performs a command, on the actor of its user or as a barrier
+     * Must be called from a single thread, in the order of the commands
+     *
+     * @param command The command to be performed
+     * @param catchUp Whether the command has the same timestamp as the one before
+     * @return The output of the command, once it was performed, or the reason it failed
+     * @throws IllegalStateException if the command is a barrier and a message failed
+     * @see #catchUp(CommandInput)
+     */
+    public CompletableFuture<JsonNode> submit(final CommandInput command,
+                                              final boolean catchUp) {
+        if (!isUserCommand(command)) {
+            system.awaitIdle();
+            if (catchUp) {
+                catchUp(command);
+            }
+            return CompletableFuture.completedFuture(performer.apply(command));
+        }
+        // isUserCommand created the app, so the players are told about time in command order
+        NormalUser user = NormalUsersLibrary.getInstance().getUserByName(command.getUsername());
+        CompletableFuture<JsonNode> output = new CompletableFuture<>();
+        system.tell(user.getName(), () -> {
+            try {
+                if (catchUp) {
+                    user.getApp().getPlayerManager().onTimeChanged(0);
+                }
+                output.complete(performer.apply(command));
+            } catch (RuntimeException e) {
+                output.completeExceptionally(e);
+            }
+        });
+        return output;
+    }
+
+    /**
+     * Waits until every submitted command and every message it sent was processed
+     *
+     * @throws IllegalStateException if a command or a message failed
+     */
+    public void awaitIdle() {
+        system.awaitIdle();
+    }
+
+    @Override
+    public void close() {
+        system.close();
+    }
+}
@@ -1,6 +1,10 @@
 package commands;
 
-public abstract class ActionCommand {
+import java.io.Serializable;
+
+public abstract class ActionCommand implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String message;
 
     /**
@@ -13,6 +13,7 @@ import statistics.calculator.RevenueCalculator;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
+import java.util.List;
 
 import static commands.CommandType.endProgram;
 
@@ -28,7 +29,7 @@ public final class End {
      */
     public static Output performEndProgram() {
         RevenueCalculator calculator = new RevenueCalculator();
-        ArrayList<NormalUser> users = NormalUsersLibrary.getInstance().getItems();
+        List<NormalUser> users = NormalUsersLibrary.getInstance().getItems();
         for (NormalUser user : users) {
             calculator.calculateRevenue(new PremiumSongCalculateRevenue(user));
             int adPrice = user.getApp().getPlayerManager().getAdPrice();
@@ -38,7 +39,7 @@ public final class End {
             }
         }
 
-        ArrayList<Artist> artists = ArtistsLibrary.getInstance().getItems();
+        ArrayList<Artist> artists = ArtistsLibrary.getInstance().copyItemsList();
         for (Artist artist : artists) {
             calculator.calculateRevenue(new ArtistCalculateRevenue(artist));
         }
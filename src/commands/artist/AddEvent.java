@@ -2,14 +2,11 @@ package commands.artist;
 
 import libraries.users.ArtistsLibrary;
 import libraries.users.UsersLibrariesStats;
-import notifications.Notification;
 import notifications.NotificationType;
 import profile.artist.DateValidation;
 import profile.artist.Event;
 import entities.user.Artist;
 
-import java.util.HashMap;
-
 public final class AddEvent {
     private static State state;
 
@@ -35,9 +32,7 @@ public final class AddEvent {
         }
         Event event = new Event(eventName, description, date);
         artist.addEvent(event);
-        HashMap<String, String> notification = Notification.getNotification(NotificationType.Event,
-                username);
-        artist.notifyObservers(notification);
+        artist.notifyObservers(NotificationType.Event);
     }
 
     /**
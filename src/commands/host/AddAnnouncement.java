@@ -2,13 +2,10 @@ package commands.host;
 
 import libraries.users.HostsLibrary;
 import libraries.users.UsersLibrariesStats;
-import notifications.Notification;
 import notifications.NotificationType;
 import profile.host.Announcement;
 import entities.user.Host;
 
-import java.util.HashMap;
-
 public final class AddAnnouncement {
     private static State state;
 
@@ -33,9 +30,7 @@ public final class AddAnnouncement {
         Announcement announcement = new Announcement(announcementName, description);
         assert host != null;
         host.addAnnouncement(announcement);
-        HashMap<String, String> notification = Notification
-                .getNotification(NotificationType.Announcement, username);
-        host.notifyObservers(notification);
+        host.notifyObservers(NotificationType.Announcement);
     }
 
     /**
@@ -6,11 +6,9 @@ import libraries.audio.PodcastsLibrary;
 import libraries.users.HostsLibrary;
 import libraries.users.UsersLibrariesStats;
 import entities.user.Host;
-import notifications.Notification;
 import notifications.NotificationType;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 
 public final class AddPodcast {
     private static State state;
@@ -37,9 +35,7 @@ public final class AddPodcast {
         assert host != null;
         host.addPodcast(podcast);
         PodcastsLibrary.getInstance().addPodcast(podcast);
-        HashMap<String, String> notification = Notification
-                .getNotification(NotificationType.Announcement, username);
-        host.notifyObservers(notification);
+        host.notifyObservers(NotificationType.Announcement);
     }
 
     /**
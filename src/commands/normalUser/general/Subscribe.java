@@ -1,13 +1,12 @@
 package commands.normalUser.general;
 
-import entities.user.Artist;
-import entities.user.Host;
 import entities.user.NormalUser;
 import entities.user.User;
 import libraries.users.NormalUsersLibrary;
 import libraries.users.UsersLibrariesStats;
 import managers.normalUser.AppManager;
 import commands.normalUser.pageNavigation.PageType;
+import notifications.Notifier;
 
 public final class Subscribe {
     private static State state;
@@ -31,20 +30,12 @@ public final class Subscribe {
         }
 
         assert user != null;
-        AppManager app = user.getApp();
+        Notifier notifier = (Notifier) subscribedToUser;
         if (state.equals(State.subscribed)) {
-            if (app.getPage().equals(PageType.hostPage)) {
-                ((Host) subscribedToUser).addObserver(user);
-            } else {
-                ((Artist) subscribedToUser).addObserver(user);
-            }
+            notifier.addObserver(user);
             user.addSubscription(subscribedToUser);
         } else {
-            if (app.getPage().equals(PageType.hostPage)) {
-                ((Host) subscribedToUser).removeObserver(user);
-            } else {
-                ((Artist) subscribedToUser).removeObserver(user);
-            }
+            notifier.removeObserver(user);
             user.removeSubscription(subscribedToUser);
         }
     }
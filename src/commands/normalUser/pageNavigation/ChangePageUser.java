@@ -9,6 +9,8 @@ import libraries.users.HostsLibrary;
 import managers.normalUser.AppManager;
 
 public final class ChangePageUser extends ActionCommand {
+    private static final long serialVersionUID = 1L;
+
     private static final String HOME = "Home";
     private static final String LIKED = "LikedContent";
     private static final String ARTIST = "Artist";
@@ -1,5 +1,7 @@
 package commands.normalUser.pageNavigation;
 
-public record Page(PageType pageType, String ownerName) {
+import java.io.Serializable;
+
+public record Page(PageType pageType, String ownerName) implements Serializable {
 
 }
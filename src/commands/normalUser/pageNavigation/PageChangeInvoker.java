@@ -2,9 +2,12 @@ package commands.normalUser.pageNavigation;
 
 import commands.ActionCommand;
 
+import java.io.Serializable;
 import java.util.LinkedList;
 
-public final class PageChangeInvoker {
+public final class PageChangeInvoker implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private LinkedList<ActionCommand> pageUndoHistory = new LinkedList<>();
     private LinkedList<ActionCommand> pageRedoHistory = new LinkedList<>();
     private String message;
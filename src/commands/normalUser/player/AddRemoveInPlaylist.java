@@ -9,6 +9,8 @@ import managers.normalUser.PlayerManager;
 import playables.PlayingAudio;
 
 public final class AddRemoveInPlaylist extends ActionCommand {
+    private static final long serialVersionUID = 1L;
+
     private final PlayerManager playerManager;
     private Playlist playlist;
 
@@ -11,6 +11,8 @@ import playables.PlayingAudioCollection;
  * Implementation of the Backward operation
  */
 public final class Backward extends ActionCommand {
+    private static final long serialVersionUID = 1L;
+
     private final PlayerManager playerManager;
     private static final int REWIND_DURATION = 90;
     public Backward(final PlayerManager playerManager) {
@@ -11,6 +11,8 @@ import playables.PlayingAudioCollection;
  * Implementation of the forward operation
  */
 public final class Forward extends ActionCommand {
+    private static final long serialVersionUID = 1L;
+
     private static final int SKIP_DURATION = 90;
     private final PlayerManager playerManager;
 
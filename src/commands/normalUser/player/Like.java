@@ -15,6 +15,8 @@ import entities.user.NormalUser;
  * Implements the like operation
  */
 public final class Like extends ActionCommand {
+    private static final long serialVersionUID = 1L;
+
     private final PlayerManager playerManager;
     private boolean liked = false;
     private NormalUser user;
@@ -1,5 +1,6 @@
 package commands.normalUser.player;
 
+import actors.ActorSystem;
 import commands.ActionCommand;
 import entities.audio.Audio;
 import entities.audio.Episode;
@@ -22,6 +23,8 @@ import statistics.listenTrackers.ListenTrackerHost;
 import statistics.listenTrackers.ListenTrackerNormalUser;
 
 public class Load extends ActionCommand {
+    private static final long serialVersionUID = 1L;
+
     private final PlayerManager playerManager;
     private final Shuffle shuffle;
     private final ListenTrackerNormalUser listenTracker;
@@ -61,6 +64,7 @@ public class Load extends ActionCommand {
         if (selection != null) {
             playerManager.setLoadedObject(selection);
             ProgressManager progressManager = user.getProgressManager();
+            NormalUser listener = user;
             if (CheckClass.extendsCollection(selection.getClass())) {
                 PlayingAudioCollection<? extends Collection<? extends Audio>> playingCollection =
                         progressManager.findInProgressCollections(selection);
@@ -74,48 +78,52 @@ public class Load extends ActionCommand {
                 playerManager.setPlayingAudio(playingCollection.getPlayingNowObject());
                 Audio playingAudio = playingCollection.getPlayingNowObject().getPlayingObject();
 
-                playingCollection.getPlayingCollection().addListen(listenTracker);
+                Collection<? extends Audio> loadedCollection =
+                        playingCollection.getPlayingCollection();
+                loadedCollection.addListen(listenTracker);
                 playingAudio.addListen(listenTracker);
 
                 Artist artist = ArtistsLibrary.getInstance()
-                        .getArtistByName(playingCollection.getPlayingCollection().getOwner());
+                        .getArtistByName(loadedCollection.getOwner());
                 if (artist != null) {
                     ListenTrackerArtist listenTrackerArtist = artist.getListenTracker();
-                    listenTrackerArtist
-                            .addListenAll((Album) playingCollection.getPlayingCollection(),
+                    ActorSystem.sendToCreator(artist.getName(), () -> listenTrackerArtist
+                            .addListenAll((Album) loadedCollection,
                                     (Song) playingAudio,
-                                    user);
+                                    listener));
                 }
                 Host host = HostsLibrary.getInstance()
-                        .getHostByName(playingCollection.getPlayingCollection().getOwner());
+                        .getHostByName(loadedCollection.getOwner());
                 if (host != null) {
                     ListenTrackerHost listenTrackerHost = host.getListenTracker();
-                    listenTrackerHost
+                    ActorSystem.sendToCreator(host.getName(), () -> listenTrackerHost
                             .addListenAll((Episode) playingAudio,
-                                    user);
+                                    listener));
                 }
             } else {
                 playerManager.setPlayingCollection(null);
                 PlayingAudio<?> playingAudio = new PlayingAudio<>(selection, user);
                 playerManager.setPlayingAudio(playingAudio);
-                playingAudio.getPlayingObject().addListen(listenTracker);
+                Audio loadedAudio = playingAudio.getPlayingObject();
+                loadedAudio.addListen(listenTracker);
                 Artist artist = ArtistsLibrary.getInstance()
-                        .getArtistByName(playingAudio.getPlayingObject().getOwner());
+                        .getArtistByName(loadedAudio.getOwner());
                 if (artist != null) {
-                    String albumName = ((Song) playingAudio.getPlayingObject()).getAlbum();
+                    String albumName = ((Song) loadedAudio).getAlbum();
                     ListenTrackerArtist listenTrackerArtist = artist.getListenTracker();
-                    listenTrackerArtist.addListenAll(albumName,
-                            (Song) playingAudio.getPlayingObject(),
-                            user);
+                    ActorSystem.sendToCreator(artist.getName(), () -> listenTrackerArtist
+                            .addListenAll(albumName,
+                                    (Song) loadedAudio,
+                                    listener));
                     user.getApp().getListenTracker().addListen(albumName);
                 }
                 Host host = HostsLibrary.getInstance()
-                        .getHostByName(playingAudio.getPlayingObject().getOwner());
+                        .getHostByName(loadedAudio.getOwner());
                 if (host != null) {
                     ListenTrackerHost listenTrackerHost = host.getListenTracker();
-                    listenTrackerHost
-                            .addListenAll((Episode) playingAudio.getPlayingObject(),
-                                    user);
+                    ActorSystem.sendToCreator(host.getName(), () -> listenTrackerHost
+                            .addListenAll((Episode) loadedAudio,
+                                    listener));
                 }
             }
             playerManager.getPlayingAudio().resume();
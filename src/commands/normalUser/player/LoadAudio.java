@@ -14,6 +14,8 @@ import statistics.listenTrackers.ListenTrackerNormalUser;
  * Implements the load operation
  */
 public final class LoadAudio extends Load {
+    private static final long serialVersionUID = 1L;
+
     private final SelectAudio select;
     private final PlayerManager playerManager;
     private final SearchBarManager searchBarManager;
@@ -10,6 +10,8 @@ import managers.normalUser.SearchBarManager;
 import statistics.listenTrackers.ListenTrackerNormalUser;
 
 public final class LoadRecommendation extends Load {
+    private static final long serialVersionUID = 1L;
+
     private NormalUser user;
     private final PlayerManager playerManager;
     /**
@@ -9,6 +9,8 @@ import playables.PlayingAudioCollection;
  * Implements the next operation
  */
 public final class Next extends ActionCommand {
+    private static final long serialVersionUID = 1L;
+
     private final PlayerManager playerManager;
 
     public Next(final PlayerManager playerManager) {
@@ -9,6 +9,8 @@ import playables.PlayingAudio;
  * Implements the playPause operation
  */
 public final class PlayPause extends ActionCommand {
+    private static final long serialVersionUID = 1L;
+
     private final PlayerManager playerManager;
 
     public PlayPause(final PlayerManager playerManager) {
@@ -9,6 +9,8 @@ import playables.PlayingAudioCollection;
  * implements the prev operation
  */
 public final class Prev extends ActionCommand {
+    private static final long serialVersionUID = 1L;
+
     private final PlayerManager playerManager;
 
     public Prev(final PlayerManager playerManager) {
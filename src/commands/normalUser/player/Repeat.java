@@ -14,6 +14,8 @@ import playables.PlayingAudioCollection;
  * Implements the repeat operation
  */
 public final class Repeat extends ActionCommand {
+    private static final long serialVersionUID = 1L;
+
     private final PlayerManager playerManager;
     private RepeatType repeatState = RepeatType.noRepeat;
 
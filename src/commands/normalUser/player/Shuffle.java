@@ -12,6 +12,8 @@ import java.util.List;
 import java.util.Random;
 
 public final class Shuffle extends ActionCommand {
+    private static final long serialVersionUID = 1L;
+
     private final PlayerManager playerManager;
     private int seed;
     private List<Integer> shuffledIndexes = null;
@@ -12,6 +12,8 @@ import java.util.ArrayList;
  * CreatePlaylist operation implementation
  */
 public final class CreatePlaylist extends ActionCommand {
+    private static final long serialVersionUID = 1L;
+
     private boolean successfullyCreatedPlaylist = false;
 
     /**
@@ -8,17 +8,17 @@ import commands.normalUser.searchBar.audio.SelectAudio;
 import libraries.users.NormalUsersLibrary;
 import managers.CheckClass;
 import managers.normalUser.PlayerManager;
-import notifications.Notification;
+import notifications.NotificationEvent;
 import notifications.NotificationType;
 import playables.PlayingAudioCollection;
 import entities.user.NormalUser;
 
-import java.util.HashMap;
-
 /**
  * Implementation for the followPlaylist operation
  */
 public final class FollowPlaylist extends ActionCommand {
+    private static final long serialVersionUID = 1L;
+
     private final PlayerManager playerManager;
     private final SelectAudio select;
     private boolean followedPlaylist = false;
@@ -68,10 +68,8 @@ public final class FollowPlaylist extends ActionCommand {
             playlist.addFollowFrom(user);
             followedPlaylist = true;
             NormalUser owner = NormalUsersLibrary.getInstance().getUserByName(playlistOwner);
-            HashMap<String, String> notification = Notification
-                    .getNotification(NotificationType.Follower, playlistOwner);
             assert owner != null;
-            owner.update(notification);
+            owner.update(NotificationEvent.of(NotificationType.Follower, playlistOwner));
         } else {
             playlist.removeFollowFrom(user);
             followedPlaylist = false;
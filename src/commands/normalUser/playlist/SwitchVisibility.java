@@ -2,8 +2,11 @@ package commands.normalUser.playlist;
 
 import entities.audio.collections.Playlist;
 import commands.ActionCommand;
+import libraries.audio.PlaylistsLibrary;
 
 public final class SwitchVisibility extends ActionCommand {
+    private static final long serialVersionUID = 1L;
+
     private Playlist playlist;
 
     /**
@@ -17,6 +20,7 @@ public final class SwitchVisibility extends ActionCommand {
             return;
         }
         playlist.switchVisibility();
+        PlaylistsLibrary.getInstance().updateVisibility(playlist);
         setMessage(toString());
     }
 
@@ -10,17 +10,28 @@ import java.util.Map;
 import java.util.function.Function;
 
 public abstract class Search<E> extends ActionCommand {
+    private static final long serialVersionUID = 1L;
+
     protected static final int MAX_NUM_OF_RESULTS = 5;
-    protected Map<SearchType, Filter<? extends E>> searchTypeFilter;
+    /**
+     * The filters hold their filtering methods, so they are not part of a snapshot
+     * They are created again by the next search
+     */
+    protected transient Map<SearchType, Filter<? extends E>> searchTypeFilter;
     @Getter
     protected ArrayList<String> searchResults;
     @Getter
     protected ArrayList<? extends E> filteredObjects;
 
     /**
-     * Initialize mapping between the search type and the filter used
+     * Initialize the filter used for the specified search type
+     * Only the items that can match the given filters have to be part of it
+     *
+     * @param searchType The type of search to be performed
+     * @param filters    The filters used for searching
      */
-    protected abstract void initSearchTypeFilter();
+    protected abstract void initSearchTypeFilter(SearchType searchType,
+                                                 Map<Filters, Object> filters);
 
     /**
      * Executes a search operation based on the specified search type and filters,
@@ -31,7 +42,7 @@ public abstract class Search<E> extends ActionCommand {
      */
     public final void execute(final String type, final Map<Filters, Object> filters) {
         SearchType searchType = SearchType.fromString(type);
-        initSearchTypeFilter();
+        initSearchTypeFilter(searchType, filters);
         searchResults = new ArrayList<>();
         Filter<? extends E> filter = searchTypeFilter.get(searchType);
         for (Map.Entry<Filters, Object> filter2 : filters.entrySet()) {
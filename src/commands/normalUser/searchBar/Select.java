@@ -7,6 +7,8 @@ import managers.normalUser.SearchBarManager;
 import java.util.ArrayList;
 
 public abstract class Select<E> extends ActionCommand {
+    private static final long serialVersionUID = 1L;
+
     @Getter
     protected E selectedObject = null;
     protected SearchBarManager searchBarManager;
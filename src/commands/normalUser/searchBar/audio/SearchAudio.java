@@ -1,9 +1,11 @@
 package commands.normalUser.searchBar.audio;
 
 import entities.audio.Audio;
+import entities.audio.collections.Playlist;
 import commands.normalUser.searchBar.Search;
 import commands.normalUser.searchBar.SearchType;
 import commands.normalUser.searchBar.filter.Filter;
+import commands.normalUser.searchBar.filter.Filters;
 import commands.normalUser.searchBar.filter.filterAudio.FilterSongs;
 import commands.normalUser.searchBar.filter.filterAudio.filterCollections.FilterAlbums;
 import commands.normalUser.searchBar.filter.filterAudio.filterCollections.FilterPlaylists;
@@ -13,28 +15,64 @@ import libraries.audio.PlaylistsLibrary;
 import libraries.audio.PodcastsLibrary;
 import libraries.audio.SongsLibrary;
 
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public final class SearchAudio extends Search<Audio> {
+    private static final long serialVersionUID = 1L;
+
+    private static final Set<Filters> PLAYLIST_FILTERS =
+            EnumSet.of(Filters.name, Filters.owner, Filters.visibilityForUser);
+
     private <E extends Audio> void putFilter(final SearchType searchType,
                                              final Filter<E> filter) {
         searchTypeFilter.put(searchType, filter);
     }
     @Override
-    protected void initSearchTypeFilter() {
+    protected void initSearchTypeFilter(final SearchType searchType,
+                                        final Map<Filters, Object> filters) {
         if (searchTypeFilter == null) {
             searchTypeFilter = new HashMap<>();
         }
-        putFilter(SearchType.song,
-                new FilterSongs(SongsLibrary.getInstance().getItems()));
-        putFilter(SearchType.podcast,
-                new FilterPodcasts(PodcastsLibrary.getInstance().getItems()));
-        putFilter(SearchType.playlist,
-                new FilterPlaylists(PlaylistsLibrary.getInstance().getItems()));
-        if (AlbumsLibrary.getInstance().getItems() != null) {
-            putFilter(SearchType.album,
-                    new FilterAlbums(AlbumsLibrary.getInstance().sortAlbumsByArtistOrder()));
+        switch (searchType) {
+            case song -> putFilter(SearchType.song,
+                    new FilterSongs(SongsLibrary.getInstance().selectAll()));
+            case podcast -> putFilter(SearchType.podcast,
+                    new FilterPodcasts(PodcastsLibrary.getInstance().getItems()));
+            case playlist -> putFilter(SearchType.playlist,
+                    new FilterPlaylists(getCandidatePlaylists(filters)));
+            case album -> {
+                AlbumsLibrary albums = AlbumsLibrary.getInstance();
+                if (albums.getItems() != null) {
+                    putFilter(SearchType.album, new FilterAlbums(albums.sortAlbumsByArtistOrder()));
+                }
+            }
+            default -> { }
+        }
+    }
+
+    /**
+     * Gets the playlists that can match the given filters
+     * When all the filters are supported by playlists, the visibility and owner filters
+     * are answered by the library indexes, instead of going through all the playlists
+     *
+     * @param filters The filters used for searching
+     * @return The playlists the filters will be applied on
+     */
+    private List<Playlist> getCandidatePlaylists(final Map<Filters, Object> filters) {
+        PlaylistsLibrary library = PlaylistsLibrary.getInstance();
+        Object username = filters.get(Filters.visibilityForUser);
+        if (username == null || !PLAYLIST_FILTERS.containsAll(filters.keySet())) {
+            return library.getItems();
+        }
+        Object owner = filters.get(Filters.owner);
+        if (owner != null) {
+            return library.getPublicPlaylistsOfOwner((String) owner, (String) username);
         }
+        return library.getPublicPlaylistsForUser((String) username);
     }
 
     @Override
@@ -7,6 +7,8 @@ import managers.normalUser.SearchBarManager;
 import java.util.ArrayList;
 
 public final class SelectAudio extends Select<Audio> {
+    private static final long serialVersionUID = 1L;
+
     public SelectAudio(final SearchBarManager searchBarManager) {
         super.searchBarManager = searchBarManager;
     }
@@ -28,6 +28,7 @@ public abstract class Filter<E> {
      * @return a list of filtered objects
      */
     public final <T extends Filter<E>> T keepFirstObjects(final int count) {
+        collectFilteredObjects();
         if (filteredObjects.size() > count) {
             List<E> firstObjects = filteredObjects.subList(0, count);
             filteredObjects.retainAll(firstObjects);
@@ -35,6 +36,13 @@ public abstract class Filter<E> {
         return (T) this;
     }
 
+    /**
+     * Sets the filtered objects, for filters that keep them in a different form while filtering
+     * It is called once the filtering is done, before the first objects are kept
+     */
+    protected void collectFilteredObjects() {
+    }
+
     /**
      * Initializes the filter methods aka the mapping between the filtering
      * method and the filter applied.
@@ -2,6 +2,7 @@ package commands.normalUser.searchBar.filter.filterAudio;
 
 import entities.audio.Song;
 import commands.normalUser.searchBar.filter.Filters;
+import libraries.audio.SongSelection;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -11,17 +12,26 @@ import java.util.regex.Pattern;
 
 /**
  * For filtering songs
+ * The songs are narrowed down as a selection of the library, so the filters on the columns
+ * of the library don't go through the songs, and they are collected at the end
  */
 public final class FilterSongs extends FilterAudio<Song> {
-    public FilterSongs(final ArrayList<Song> songs) {
-        this.filteredObjects = new ArrayList<>(songs);
+    private final SongSelection selection;
+
+    public FilterSongs(final SongSelection selection) {
+        this.selection = selection;
         initAllFilterMethods();
     }
 
+    @Override
+    protected void collectFilteredObjects() {
+        filteredObjects = selection.toList();
+    }
+
     @Override
     public void initAllFilterMethods() {
         filterMethods = new HashMap<>();
-        filterMethods.put(Filters.name, this::byName);
+        filterMethods.put(Filters.name, this::bySongName);
         filterMethods.put(Filters.album, this::byAlbum);
         filterMethods.put(Filters.lyrics, this::byLyrics);
         filterMethods.put(Filters.genre, this::byGenre);
@@ -30,6 +40,18 @@ public final class FilterSongs extends FilterAudio<Song> {
         filterMethods.put(Filters.tags, this::byTags);
     }
 
+    /**
+     * Filters songs by their names
+     *
+     * @param nameObj The name we search for
+     * @return current instance
+     */
+    public FilterSongs bySongName(final Object nameObj) {
+        String name = (String) nameObj;
+        selection.keepIf(song -> song.nameStartsWith(name));
+        return this;
+    }
+
     /**
      * Filters songs that contain the specified album
      *
@@ -38,7 +60,7 @@ public final class FilterSongs extends FilterAudio<Song> {
      */
     public FilterSongs byAlbum(final Object albumObj) {
         String album = (String) albumObj;
-        filteredObjects.removeIf(song -> !song.inAlbum(album));
+        selection.keepAlbum(album);
         return this;
     }
 
@@ -50,7 +72,7 @@ public final class FilterSongs extends FilterAudio<Song> {
      */
     public FilterSongs byTags(final Object tagsObj) {
         ArrayList<String> tags = (ArrayList<String>) tagsObj;
-        filteredObjects.removeIf(song -> !song.containsTags(tags));
+        selection.keepTags(tags);
         return this;
     }
 
@@ -62,7 +84,7 @@ public final class FilterSongs extends FilterAudio<Song> {
      */
     public FilterSongs byLyrics(final Object lyricsObj) {
         String lyrics = (String) lyricsObj;
-        filteredObjects.removeIf(song -> !song.containsLyrics(lyrics));
+        selection.keepIf(song -> song.containsLyrics(lyrics));
         return this;
     }
 
@@ -74,7 +96,7 @@ public final class FilterSongs extends FilterAudio<Song> {
      */
     public FilterSongs byGenre(final Object genreObj) {
         String genre = (String) genreObj;
-        filteredObjects.removeIf(song -> !song.isGenre(genre));
+        selection.keepGenre(genre);
         return this;
     }
 
@@ -84,7 +106,7 @@ public final class FilterSongs extends FilterAudio<Song> {
      * @param year The year we should compare the release year to
      */
     private void filterSongsBeforeYear(final Integer year) {
-        filteredObjects.removeIf(song -> !song.releasedBeforeYear(year));
+        selection.keepReleasedBefore(year);
     }
 
     /**
@@ -93,7 +115,7 @@ public final class FilterSongs extends FilterAudio<Song> {
      * @param year The year we should compare the release year to
      */
     private void filterSongsAfterYear(final Integer year) {
-        filteredObjects.removeIf(song -> !song.releasedAfterYear(year));
+        selection.keepReleasedAfter(year);
     }
 
     /**
@@ -156,7 +178,7 @@ public final class FilterSongs extends FilterAudio<Song> {
         } else if (Objects.equals(getComparisonFromString(yearQuery), Comparison.greater)) {
             filterSongsAfterYear(year);
         } else {
-            filteredObjects.clear();
+            selection.clear();
         }
         return this;
     }
@@ -169,7 +191,7 @@ public final class FilterSongs extends FilterAudio<Song> {
      */
     public FilterSongs byArtist(final Object artistObj) {
         String artist = (String) artistObj;
-        filteredObjects.removeIf(song -> !song.createdBy(artist));
+        selection.keepArtist(artist);
         return this;
     }
 
@@ -8,9 +8,10 @@ import commands.normalUser.searchBar.filter.filterAudio.FilterAudio;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
 public class FilterPlaylists extends FilterCollections<Playlist> {
-    public FilterPlaylists(final ArrayList<Playlist> playlists) {
+    public FilterPlaylists(final List<Playlist> playlists) {
         this.filteredObjects = new ArrayList<>(playlists);
         initAllFilterMethods();
     }
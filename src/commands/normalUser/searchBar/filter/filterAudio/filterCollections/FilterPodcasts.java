@@ -5,9 +5,10 @@ import commands.normalUser.searchBar.filter.Filters;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
 public class FilterPodcasts extends FilterCollections<Podcast> {
-    public FilterPodcasts(final ArrayList<Podcast> podcasts) {
+    public FilterPodcasts(final List<Podcast> podcasts) {
         this.filteredObjects = new ArrayList<>(podcasts);
         initAllFilterMethods();
     }
@@ -3,9 +3,10 @@ package commands.normalUser.searchBar.filter.filterUser;
 import entities.user.Artist;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public class FilterArtists extends FilterUser<Artist> {
-    public FilterArtists(final ArrayList<Artist> artists) {
+    public FilterArtists(final List<Artist> artists) {
         this.filteredObjects = new ArrayList<>(artists);
         initAllFilterMethods();
     }
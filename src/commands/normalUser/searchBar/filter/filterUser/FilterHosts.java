@@ -3,9 +3,10 @@ package commands.normalUser.searchBar.filter.filterUser;
 import entities.user.Host;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public class FilterHosts extends FilterUser<Host> {
-    public FilterHosts(final ArrayList<Host> hosts) {
+    public FilterHosts(final List<Host> hosts) {
         this.filteredObjects = new ArrayList<>(hosts);
         initAllFilterMethods();
     }
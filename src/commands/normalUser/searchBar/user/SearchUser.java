@@ -3,6 +3,7 @@ package commands.normalUser.searchBar.user;
 import commands.normalUser.searchBar.Search;
 import commands.normalUser.searchBar.SearchType;
 import commands.normalUser.searchBar.filter.Filter;
+import commands.normalUser.searchBar.filter.Filters;
 import commands.normalUser.searchBar.filter.filterUser.FilterArtists;
 import commands.normalUser.searchBar.filter.filterUser.FilterHosts;
 import libraries.users.ArtistsLibrary;
@@ -11,26 +12,33 @@ import entities.user.Artist;
 import entities.user.Host;
 import entities.user.User;
 
-import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public final class SearchUser extends Search<User> {
+    private static final long serialVersionUID = 1L;
+
     private <E extends User> void putFilter(final SearchType searchType, final Filter<E> filter) {
         searchTypeFilter.put(searchType, filter);
     }
 
     @Override
-    protected void initSearchTypeFilter() {
+    protected void initSearchTypeFilter(final SearchType searchType,
+                                        final Map<Filters, Object> filters) {
         if (searchTypeFilter == null) {
             searchTypeFilter = new HashMap<>();
         }
-        ArrayList<Artist> artists = ArtistsLibrary.getInstance().getItems();
-        if (artists != null) {
-            putFilter(SearchType.artist, new FilterArtists(artists));
-        }
-        ArrayList<Host> hosts = HostsLibrary.getInstance().getItems();
-        if (hosts != null) {
-            putFilter(SearchType.host, new FilterHosts(HostsLibrary.getInstance().getItems()));
+        if (searchType == SearchType.artist) {
+            List<Artist> artists = ArtistsLibrary.getInstance().getItems();
+            if (artists != null) {
+                putFilter(SearchType.artist, new FilterArtists(artists));
+            }
+        } else if (searchType == SearchType.host) {
+            List<Host> hosts = HostsLibrary.getInstance().getItems();
+            if (hosts != null) {
+                putFilter(SearchType.host, new FilterHosts(hosts));
+            }
         }
     }
 
@@ -1,5 +1,6 @@
 package commands.normalUser.searchBar.user;
 
+import actors.ActorSystem;
 import commands.normalUser.pageNavigation.Page;
 import commands.normalUser.pageNavigation.PageType;
 import commands.normalUser.searchBar.Select;
@@ -14,6 +15,8 @@ import entities.user.User;
 import java.util.ArrayList;
 
 public final class SelectUser extends Select<User> {
+    private static final long serialVersionUID = 1L;
+
     public SelectUser(final SearchBarManager searchBarManager) {
         super.searchBarManager = searchBarManager;
     }
@@ -34,13 +37,13 @@ public final class SelectUser extends Select<User> {
         NormalUser user = NormalUsersLibrary.getInstance().getUserByName(username);
         if (selectedObject != null && CheckClass.isArtist(selectedObject.getClass())) {
             Artist artist = (Artist) selectedObject;
-            artist.incrementPageViewersCount();
+            ActorSystem.sendToUsageCounts(artist::incrementPageViewersCount);
             assert user != null;
             Page page = new Page(PageType.artistPage, artist.getName());
             user.getApp().setPage(page);
         } else if (selectedObject != null && CheckClass.isHost(selectedObject.getClass())) {
             Host host = (Host) selectedObject;
-            host.incrementPageViewersCount();
+            ActorSystem.sendToUsageCounts(host::incrementPageViewersCount);
             assert user != null;
             Page page = new Page(PageType.hostPage, host.getName());
             user.getApp().setPage(page);
@@ -1,6 +1,8 @@
 package entities;
 
-public interface Entity {
+import java.io.Serializable;
+
+public interface Entity extends Serializable {
     /**
      * Gets the name of the entity
      *
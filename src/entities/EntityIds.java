@@ -0,0 +1,40 @@
+package entities;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generator for entity ids
+ */
+public final class EntityIds {
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    private EntityIds() {
+    }
+
+    /**
+     * Generates a new id
+     *
+     * @return An id that wasn't returned before
+     */
+    public static long next() {
+        return NEXT_ID.getAndIncrement();
+    }
+
+    /**
+     * Gets the id that will be generated next, without generating it
+     *
+     * @return The next id
+     */
+    public static long peek() {
+        return NEXT_ID.get();
+    }
+
+    /**
+     * Continues generating ids from the given one, after restoring a snapshot
+     *
+     * @param nextId The id that will be generated next
+     */
+    public static void restore(final long nextId) {
+        NEXT_ID.set(nextId);
+    }
+}
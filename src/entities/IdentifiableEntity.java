@@ -0,0 +1,14 @@
+package entities;
+
+/**
+ * An entity with a stable id, used for equality and hashing
+ * Copies of an entity keep the id of the original
+ */
+public interface IdentifiableEntity extends Entity {
+    /**
+     * Gets the id of the entity
+     *
+     * @return The id, unique among all the entities created
+     */
+    long getId();
+}
@@ -1,6 +1,8 @@
 package entities;
 
 public final class NameableEntity implements Entity {
+    private static final long serialVersionUID = 1L;
+
     private final String name;
     public NameableEntity(final String name) {
         this.name = name;
@@ -0,0 +1,78 @@
+package entities;
+
+import java.io.Serializable;
+
+/**
+ * Keeps track of whether an entity, or any of the entities it owns, is in use
+ * (loaded in a player, part of a playlist or shown on a page)
+ * Every tracker counts its own usages and its owned entities that are in use,
+ * and notifies its parent only when it starts or stops being in use,
+ * so checking if an owner has anything in use takes constant time
+ */
+public final class UsageTracker implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private UsageTracker parent;
+    private int usedParts = 0;
+
+    /**
+     * Checks if the entity or any of the entities it owns is in use
+     *
+     * @return {@code true} if something is in use, {@code false} otherwise
+     */
+    public boolean isUsed() {
+        return usedParts > 0;
+    }
+
+    /**
+     * Counts one more part of the entity that started being in use
+     */
+    public void markUsed() {
+        usedParts++;
+        if (usedParts == 1 && parent != null) {
+            parent.markUsed();
+        }
+    }
+
+    /**
+     * Counts one less part of the entity that is in use
+     */
+    public void markUnused() {
+        usedParts--;
+        if (usedParts == 0 && parent != null) {
+            parent.markUnused();
+        }
+    }
+
+    /**
+     * Updates the counters after a usage flag of the entity changed
+     *
+     * @param wasUsed The previous value of the flag
+     * @param isUsed  The current value of the flag
+     */
+    public void update(final boolean wasUsed, final boolean isUsed) {
+        if (!wasUsed && isUsed) {
+            markUsed();
+        } else if (wasUsed && !isUsed) {
+            markUnused();
+        }
+    }
+
+    /**
+     * Attaches the tracker to the tracker of its owner, moving its usage from the previous owner
+     *
+     * @param newParent The tracker of the new owner, or {@code null} to detach it
+     */
+    public void setParent(final UsageTracker newParent) {
+        if (newParent == parent) {
+            return;
+        }
+        if (isUsed() && parent != null) {
+            parent.markUnused();
+        }
+        parent = newParent;
+        if (isUsed() && parent != null) {
+            parent.markUsed();
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package entities.audio;
 
-import entities.Entity;
+import entities.IdentifiableEntity;
 import statistics.listenTrackers.ListenTrackerNormalUser;
 
 /**
  * Interface for an entities.audio file
  */
-public interface Audio extends Cloneable, Entity {
+public interface Audio extends Cloneable, IdentifiableEntity {
     /**
      * Gets the duration of the entities.audio object
      *
@@ -1,20 +1,63 @@
 package entities.audio;
 
+import entities.EntityIds;
 import fileio.input.EpisodeInput;
+import fileio.snapshot.SnapshotReader;
+import fileio.snapshot.SnapshotWriter;
+import libraries.catalog.CatalogSegment;
 import statistics.listenTrackers.ListenTrackerNormalUser;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 /**
  * Implementation for an episode object
  */
 public final class Episode implements Audio {
+    private static final long serialVersionUID = 1L;
+
+    private transient long id;
+    /**
+     * The metadata of the episode, when it isn't kept in a catalog segment
+     */
     private final EpisodeInput episodeInput;
+    /**
+     * The catalog segment with the metadata of the episode, {@code null} if it has none
+     */
+    private final CatalogSegment catalog;
+    private final int catalogRecord;
 
     public Episode(final EpisodeInput episodeInput) {
         this.episodeInput = episodeInput;
+        this.catalog = null;
+        this.catalogRecord = 0;
+        this.id = EntityIds.next();
+    }
+
+    /**
+     * Creates an episode whose metadata is kept in a catalog segment
+     *
+     * @param catalog The catalog segment
+     * @param record  The index of the episode's record in the segment
+     */
+    public Episode(final CatalogSegment catalog, final int record) {
+        this.episodeInput = null;
+        this.catalog = catalog;
+        this.catalogRecord = record;
+        this.id = EntityIds.next();
     }
 
     public Episode(final Episode episode) {
-        this(episode.episodeInput);
+        this.episodeInput = episode.episodeInput;
+        this.catalog = episode.catalog;
+        this.catalogRecord = episode.catalogRecord;
+        this.id = episode.id;
+    }
+
+    @Override
+    public long getId() {
+        return id;
     }
 
     /**
@@ -24,7 +67,7 @@ public final class Episode implements Audio {
      */
     @Override
     public String getName() {
-        return episodeInput.getName();
+        return catalog != null ? catalog.episodeName(catalogRecord) : episodeInput.getName();
     }
 
     /**
@@ -34,7 +77,8 @@ public final class Episode implements Audio {
      */
     @Override
     public int getDuration() {
-        return episodeInput.getDuration();
+        return catalog != null
+                ? catalog.episodeDuration(catalogRecord) : episodeInput.getDuration();
     }
 
     /**
@@ -46,6 +90,9 @@ public final class Episode implements Audio {
      */
     @Override
     public boolean nameStartsWith(final String searchString) {
+        if (catalog != null) {
+            return catalog.episodeNameStartsWith(catalogRecord, searchString);
+        }
         return episodeInput.getName().startsWith(searchString);
     }
 
@@ -71,6 +118,41 @@ public final class Episode implements Audio {
 
     @Override
     public String toString() {
-        return episodeInput.getName() + " - " + episodeInput.getDescription();
+        String description = catalog != null
+                ? catalog.episodeDescription(catalogRecord) : episodeInput.getDescription();
+        return getName() + " - " + description;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return obj instanceof Episode episode && id == episode.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(id);
+    }
+
+    /**
+     * Writes the id ahead of the other fields, so that it's set before this episode
+     * is added to any hashed collection while a snapshot is read
+     * The other fields are left for later when it's written to a snapshot as a shell
+     *
+     * @param out The stream the episode is written to
+     * @throws IOException if the episode can't be written
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.writeLong(id);
+        if (!SnapshotWriter.defers(out, this)) {
+            out.defaultWriteObject();
+        }
+    }
+
+    private void readObject(final ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        id = in.readLong();
+        if (!SnapshotReader.defers(in, this)) {
+            in.defaultReadObject();
+        }
     }
 }
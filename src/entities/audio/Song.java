@@ -1,27 +1,52 @@
 package entities.audio;
 
+import entities.EntityIds;
+import entities.UsageTracker;
+import entities.audio.collections.IndexedLinkedSet;
 import entities.user.NormalUser;
 import fileio.input.SongInput;
+import fileio.snapshot.SnapshotReader;
+import fileio.snapshot.SnapshotWriter;
+import libraries.audio.SongsLibrary;
+import libraries.catalog.CatalogSegment;
 import lombok.Getter;
 import statistics.listenTrackers.ListenTrackerNormalUser;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashSet;
+import java.util.List;
 
 /**
  * Implementation for a songInput object
  */
 public final class Song implements Audio {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The release year of the songs whose release year is not known
+     */
+    public static final int NO_RELEASE_YEAR = Integer.MIN_VALUE;
+    @Getter
+    private transient long id;
+    /**
+     * The metadata of the song, when it isn't kept in a catalog segment
+     */
     private final SongInput songInput;
+    /**
+     * The catalog segment with the metadata of the song, {@code null} if it has none
+     */
+    private final CatalogSegment catalog;
+    private final int catalogRecord;
     @Getter
     private double revenue = 0;
-    private final ArrayList<NormalUser> likedBy = new ArrayList<>();
+    private final IndexedLinkedSet<NormalUser> likedBy = new IndexedLinkedSet<>();
     /**
-     * -- GETTER --
-     * Get the likes count for this song
+     * The users this song was recommended to, {@code null} until it is first recommended
      */
-    @Getter
-    private int likes;
+    private HashSet<NormalUser> recommendedTo;
     /**
      * -- GETTER --
      * Get the loaded times count for this song
@@ -34,16 +59,40 @@ public final class Song implements Audio {
      */
     @Getter
     private int inPlaylistCount;
+    /**
+     * -- GETTER --
+     * Get the tracker for whether this song is loaded or part of a playlist
+     */
+    @Getter
+    private final UsageTracker usageTracker = new UsageTracker();
 
     public Song(final SongInput songInput) {
+        this(songInput, null, 0, EntityIds.next());
+    }
+
+    /**
+     * Creates a song whose metadata is kept in a catalog segment
+     *
+     * @param catalog The catalog segment
+     * @param record  The index of the song's record in the segment
+     */
+    public Song(final CatalogSegment catalog, final int record) {
+        this(null, catalog, record, EntityIds.next());
+    }
+
+    private Song(final SongInput songInput, final CatalogSegment catalog, final int record,
+                 final long id) {
         this.songInput = songInput;
+        this.catalog = catalog;
+        this.catalogRecord = record;
+        this.id = id;
     }
 
     private Song(final Song song) {
-        this(song.songInput);
-        this.likes = song.getLikes();
+        this(song.songInput, song.catalog, song.catalogRecord, song.id);
         this.loadedCount = song.getLoadedCount();
         this.inPlaylistCount = song.getInPlaylistCount();
+        usageTracker.update(false, isUsed());
     }
 
     public Song(final String name,
@@ -64,7 +113,7 @@ public final class Song implements Audio {
      */
     @Override
     public String getName() {
-        return songInput.getName();
+        return catalog != null ? catalog.songName(catalogRecord) : songInput.getName();
     }
 
     /**
@@ -74,7 +123,7 @@ public final class Song implements Audio {
      */
     @Override
     public int getDuration() {
-        return songInput.getDuration();
+        return catalog != null ? catalog.songDuration(catalogRecord) : songInput.getDuration();
     }
 
     /**
@@ -84,6 +133,9 @@ public final class Song implements Audio {
      */
     @Override
     public boolean nameStartsWith(final String searchString) {
+        if (catalog != null) {
+            return catalog.songNameStartsWith(catalogRecord, searchString);
+        }
         return songInput.getName().toLowerCase().startsWith(searchString.toLowerCase());
     }
 
@@ -99,7 +151,7 @@ public final class Song implements Audio {
 
     @Override
     public String getOwner() {
-        return songInput.getArtist();
+        return getArtist();
     }
 
     /**
@@ -112,42 +164,6 @@ public final class Song implements Audio {
         return new Song(this);
     }
 
-    /**
-     * Checks if a songInput is in the specified album
-     *
-     * @param album for the album the songInput should be part of
-     * @return {@code true} if the songInput is in the specified album, {@code false} otherwise
-     */
-    public boolean inAlbum(final String album) {
-        return songInput.getAlbum().equals(album);
-    }
-
-    /**
-     * Checks if a songInput contains a specified tag
-     *
-     * @param tag for the tag that's being searched
-     * @return {@code true} if the songInput has the specified tag, {@code false} otherwise
-     */
-    public boolean containsTag(final String tag) {
-        return songInput.getTags().contains(tag);
-    }
-
-    /**
-     * Checks if the songInput has any of the specified tags
-     *
-     * @param tags for the list of tags that are being searched
-     * @return {@code true} if the songInput has at least one of the tags in the specified list,
-     * {@code false} otherwise
-     */
-    public boolean containsTags(final ArrayList<String> tags) {
-        for (String tag : tags) {
-            if (!containsTag(tag)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     /**
      * Checks if the songInput contains the specified lyrics
      *
@@ -155,100 +171,109 @@ public final class Song implements Audio {
      * @return {@code true} if the lyrics are found in the songInput lyrics, {@code false} otherwise
      */
     public boolean containsLyrics(final String lyrics) {
+        if (catalog != null) {
+            return catalog.songLyricsContain(catalogRecord, lyrics);
+        }
         String lyricsToLower = lyrics.toLowerCase();
         return songInput.getLyrics().toLowerCase().contains(lyricsToLower);
     }
 
     /**
-     * Checks if the songInput is part of the specified genre
+     * Get the likes count for this song
+     * The count is kept by the songs library, in its likes column; copies of a song
+     * share the count of the original
      *
-     * @param genre for the genre the songInput should be part of
-     * @return {@code true} if the songInput is a part of the specified genre,
-     * {@code false} otherwise
+     * @return The likes count
      */
-    public boolean isGenre(final String genre) {
-        return songInput.getGenre().equalsIgnoreCase(genre);
+    public int getLikes() {
+        return SongsLibrary.getInstance().getLikes(this);
     }
 
     /**
-     * Checks if the songInput was released before the specified year
+     * Changes the likes count of this song in the library
+     * Only the users that show the count are told, after it changed: the song's likers,
+     * whose liked songs are ranked by it, and the users it was recommended to
      *
-     * @param year The year we compare the release year with
-     * @return {@code true} if the songInput was released before the specified year,
-     * {@code false} otherwise
+     * @param delta The number of likes added, negative if likes were removed
      */
-    public boolean releasedBeforeYear(final Integer year) {
-        return songInput.getReleaseYear() < year;
+    private void addLikes(final int delta) {
+        if (SongsLibrary.getInstance().addLikes(this, delta)) {
+            for (NormalUser liker : likedBy) {
+                liker.songLikesChanged(this);
+            }
+            if (recommendedTo != null) {
+                for (NormalUser user : recommendedTo) {
+                    user.songLikesChanged(this);
+                }
+            }
+        }
     }
 
     /**
-     * Checks if the songInput was released after the specified year
+     * Remembers that this song was recommended to a user, who is told when its likes change
      *
-     * @param year The year we compare the release year with
-     * @return {@code true} if the songInput was released after the specified year,
-     * {@code false} otherwise
+     * @param user The user the song was recommended to
      */
-    public boolean releasedAfterYear(final Integer year) {
-        return songInput.getReleaseYear() > year;
+    public void addRecommendedTo(final NormalUser user) {
+        if (recommendedTo == null) {
+            recommendedTo = new HashSet<>();
+        }
+        recommendedTo.add(user);
     }
 
     /**
-     * Checks if the songInput was created by the specified artist
+     * Forgets that this song was recommended to a user, once the user is deleted
      *
-     * @param artist The artist for whom the songInput's creator is checked
-     * @return {@code true} if the songInput was created by the specified artist,
-     * {@code false} otherwise
-     */
-    public boolean createdBy(final String artist) {
-        return songInput.getArtist().equals(artist);
-    }
-
-    /**
-     * Increment the like count for this song
-     */
-    private void addLike() {
-        likes++;
-    }
-
-    /**
-     * Decrement the like count for this song
+     * @param user The user the song was recommended to
      */
-    private void removeLike() {
-        if (likes > 0) {
-            likes--;
+    public void removeRecommendedTo(final NormalUser user) {
+        if (recommendedTo != null) {
+            recommendedTo.remove(user);
         }
     }
 
     public String getArtistName() {
-        return songInput.getArtist();
+        return getArtist();
+    }
+
+    private boolean isUsed() {
+        return loadedCount > 0 || inPlaylistCount > 0;
     }
 
     /**
      * Increments the counter for the number of users that added this song to their playlist
      */
     public void incrementInPlaylistCount() {
+        boolean wasUsed = isUsed();
         inPlaylistCount++;
+        usageTracker.update(wasUsed, isUsed());
     }
 
     /**
      * Decrements the counter for the number of users that added this song to their playlist
      */
     public void decrementInPlaylistCount() {
+        boolean wasUsed = isUsed();
         inPlaylistCount--;
+        usageTracker.update(wasUsed, isUsed());
     }
 
     /**
      * Increments the counter for the number of users that are playing this song
      */
     public void incrementLoadedCount() {
+        boolean wasUsed = isUsed();
         loadedCount++;
+        usageTracker.update(wasUsed, isUsed());
     }
 
     /**
      * Decrements the counter for the number of users that are playing this song
      */
     public void decrementLoadedCount() {
+        boolean wasUsed = isUsed();
         loadedCount--;
+        usageTracker.update(wasUsed, isUsed());
     }
 
     /**
@@ -259,7 +284,7 @@ public final class Song implements Audio {
     public void removeLikeFrom(final NormalUser user) {
         likedBy.remove(user);
         user.removeLikedSong(this);
-        removeLike();
+        addLikes(-1);
     }
 
     /**
@@ -270,20 +295,23 @@ public final class Song implements Audio {
     public void addLikeFrom(final NormalUser user) {
         likedBy.add(user);
         user.addLikedSong(this);
-        addLike();
+        addLikes(1);
     }
 
     /**
      * Removes all likes for the songs (from the users liked playlist)
+     * The orderings that depend on the likes count are updated only once, at the end
      */
     public void removeAllLikes() {
-        Iterator<NormalUser> iterator = likedBy.iterator();
-        while (iterator.hasNext()) {
-            NormalUser liker = iterator.next();
+        if (likedBy.isEmpty()) {
+            return;
+        }
+        for (NormalUser liker : likedBy) {
             liker.removeLikedSong(this);
-            removeLike();
-            iterator.remove();
         }
+        int removed = likedBy.size();
+        likedBy.clear();
+        addLikes(-removed);
     }
 
     @Override
@@ -297,15 +325,32 @@ public final class Song implements Audio {
      * @return The name of the album
      */
     public String getAlbum() {
-        return songInput.getAlbum();
+        return catalog != null ? catalog.songAlbum(catalogRecord) : songInput.getAlbum();
     }
 
     public String getArtist() {
-        return songInput.getArtist();
+        return catalog != null ? catalog.songArtist(catalogRecord) : songInput.getArtist();
     }
 
     public String getGenre() {
-        return songInput.getGenre();
+        return catalog != null ? catalog.songGenre(catalogRecord) : songInput.getGenre();
+    }
+
+    public List<String> getTags() {
+        return catalog != null ? catalog.songTags(catalogRecord) : songInput.getTags();
+    }
+
+    /**
+     * Gets the release year of this song
+     *
+     * @return The release year, or {@link #NO_RELEASE_YEAR} if it is not known
+     */
+    public int getReleaseYear() {
+        if (catalog != null) {
+            return catalog.songReleaseYear(catalogRecord);
+        }
+        Integer releaseYear = songInput.getReleaseYear();
+        return releaseYear == null ? NO_RELEASE_YEAR : releaseYear;
     }
 
     /**
@@ -318,12 +363,42 @@ public final class Song implements Audio {
     }
 
     /**
-     * checks if this song is equal to the song given asa  parameter
-     * @param song The song to check for equality
+     * Checks if this song is the same as the object given as a parameter
+     * Copies of a song are equal to the original
      *
-     * @return {@code true} it the songs are equal, {@code false} otherwise
+     * @param obj The object to check for equality
+     * @return {@code true} if the songs have the same id, {@code false} otherwise
      */
-    public boolean equals(final Song song) {
-        return song.getName().equals(getName());
+    @Override
+    public boolean equals(final Object obj) {
+        return obj instanceof Song song && id == song.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(id);
+    }
+
+    /**
+     * Writes the id ahead of the other fields, so that it's set before this song
+     * is added to any hashed collection while a snapshot is read
+     * The other fields are left for later when it's written to a snapshot as a shell
+     *
+     * @param out The stream the song is written to
+     * @throws IOException if the song can't be written
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.writeLong(id);
+        if (!SnapshotWriter.defers(out, this)) {
+            out.defaultWriteObject();
+        }
+    }
+
+    private void readObject(final ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        id = in.readLong();
+        if (!SnapshotReader.defers(in, this)) {
+            in.defaultReadObject();
+        }
     }
 }
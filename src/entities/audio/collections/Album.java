@@ -1,13 +1,20 @@
 package entities.audio.collections;
 
 import entities.audio.Song;
+import fileio.snapshot.SnapshotReader;
+import fileio.snapshot.SnapshotWriter;
 import lombok.Getter;
 import statistics.listenTrackers.ListenTrackerNormalUser;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 
 @Getter
 public final class Album extends Collection<Song> {
+    private static final long serialVersionUID = 1L;
+
     private int releaseYear;
     private String description;
     private int totalLikes;
@@ -16,6 +23,9 @@ public final class Album extends Collection<Song> {
         setName(name);
         setOwner(owner);
         setCollection(songs);
+        for (Song song : songs) {
+            song.getUsageTracker().setParent(getUsageTracker());
+        }
     }
 
     public Album(final String name,
@@ -46,26 +56,15 @@ public final class Album extends Collection<Song> {
     }
 
     /**
-     * Checks if the album is deletable
-     * To be deletable, it shouldn't have any of its songs playing in a entities.user's player,
-     * the album itself shouldn't be played by a entities.user,
-     * and neither of its songs should be part of a entities.user's playlist
+     * Checks if the album is playing in a entities.user's player
+     * The album isn't deletable while it's playing, or while any of its songs
+     * is playing in a entities.user's player or is part of a entities.user's playlist
      *
-     * @return {@code true} if the album is deletable, {@code false} otherwise
+     * @return {@code true} if the album is loaded, {@code false} otherwise
      */
     @Override
-    public boolean isDeletable() {
-        if (getLoadedCount() > 0) {
-            return false;
-        }
-
-        for (Song song : getCollection()) {
-            if (song.getInPlaylistCount() > 0
-                    || song.getLoadedCount() > 0) {
-                return false;
-            }
-        }
-        return true;
+    protected boolean isLoaded() {
+        return getLoadedCount() > 0;
     }
 
     /**
@@ -88,4 +87,24 @@ public final class Album extends Collection<Song> {
     public void addListen(final ListenTrackerNormalUser listenTracker) {
         listenTracker.addListen(this);
     }
+
+    /**
+     * Leaves the fields of this album for later when it's written to a snapshot as a shell
+     *
+     * @param out The stream the album is written to
+     * @throws IOException if the album can't be written
+     * @see SnapshotWriter
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        if (!SnapshotWriter.defers(out, this)) {
+            out.defaultWriteObject();
+        }
+    }
+
+    private void readObject(final ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        if (!SnapshotReader.defers(in, this)) {
+            in.defaultReadObject();
+        }
+    }
 }
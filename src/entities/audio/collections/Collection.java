@@ -1,21 +1,35 @@
 package entities.audio.collections;
 
+import entities.EntityIds;
+import entities.UsageTracker;
 import entities.audio.Audio;
+import fileio.snapshot.SnapshotReader;
+import fileio.snapshot.SnapshotWriter;
 import lombok.Getter;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
 
 /**
  * Class for an entities.audio collection
  */
 @Getter
 public class Collection<E extends Audio> implements Audio {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * -- GETTER --
+     *  Get the id of the collection
+     */
+    private transient long id;
     protected int loadedCount;
     /**
      * -- GETTER --
-     *  Get the items in a collection
+     *  Get the items in a collection, in insertion order
      */
-    protected ArrayList<E> collection;
+    protected IndexedLinkedSet<E> collection;
     /**
      * -- GETTER --
      *  Get the name of the collection
@@ -26,15 +40,23 @@ public class Collection<E extends Audio> implements Audio {
      *  Gets the owner name of th collection
      */
     private String owner;
+    /**
+     * -- GETTER --
+     *  Get the tracker for whether this collection or any of its items is in use
+     */
+    private final UsageTracker usageTracker = new UsageTracker();
 
     public Collection() {
+        this.id = EntityIds.next();
     }
 
     public Collection(final Collection<E> genericCollection) {
+        this.id = genericCollection.id;
         this.name = genericCollection.name;
         this.owner = genericCollection.owner;
         this.collection = genericCollection.collection;
         this.loadedCount = genericCollection.loadedCount;
+        usageTracker.update(false, isLoaded());
     }
 
     /**
@@ -42,8 +64,8 @@ public class Collection<E extends Audio> implements Audio {
      *
      * @param collection The list of items to be set
      */
-    public void setCollection(final ArrayList<E> collection) {
-        this.collection = collection;
+    public void setCollection(final List<E> collection) {
+        this.collection = new IndexedLinkedSet<>(collection);
     }
 
     /**
@@ -158,25 +180,83 @@ public class Collection<E extends Audio> implements Audio {
      * Increments the counter for the number of users that are playing this podcast
      */
     public void incrementLoadedCount() {
+        boolean wasLoaded = isLoaded();
         loadedCount++;
+        usageTracker.update(wasLoaded, isLoaded());
     }
 
     /**
      * Decrements the counter for the number of users that are playing this podcast
      */
     public void decrementLoadedCount() {
+        boolean wasLoaded = isLoaded();
         loadedCount--;
+        usageTracker.update(wasLoaded, isLoaded());
+    }
+
+    /**
+     * Checks if the collection is loaded in the player of any normal user
+     *
+     * @return {@code true} if the collection is loaded, {@code false} otherwise
+     */
+    protected boolean isLoaded() {
+        return loadedCount != 0;
     }
 
     /**
      * Checks if the collection is deletable.
      * For the collection to be deletable, none of the normal users should have it loaded
-     * in their player
-     * Method might be Overridden to add new conditions for deletion for a particular collection
+     * in their player, and none of the items attached to its usage tracker should be in use
      *
      * @return {@code true} if the collection is deletable, {@code false} otherwise
      */
     public boolean isDeletable() {
-        return loadedCount == 0;
+        return !usageTracker.isUsed();
+    }
+
+    /**
+     * Checks if this collection is the same as the object given as a parameter
+     * Copies of a collection are equal to the original
+     *
+     * @param obj The object to check for equality
+     * @return {@code true} if the collections have the same type and id, {@code false} otherwise
+     */
+    @Override
+    public final boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        return id == ((Collection<?>) obj).id;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Long.hashCode(id);
+    }
+
+    /**
+     * Writes the id ahead of the other fields, so that it's set before this collection
+     * is added to any hashed collection while a snapshot is read
+     * The other fields are left for later when it's written to a snapshot as a shell
+     *
+     * @param out The stream the collection is written to
+     * @throws IOException if the collection can't be written
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.writeLong(id);
+        if (!SnapshotWriter.defers(out, this)) {
+            out.defaultWriteObject();
+        }
+    }
+
+    private void readObject(final ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        id = in.readLong();
+        if (!SnapshotReader.defers(in, this)) {
+            in.defaultReadObject();
+        }
     }
 }
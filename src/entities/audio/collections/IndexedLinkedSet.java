@@ -0,0 +1,270 @@
+package entities.audio.collections;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A list without duplicates that keeps the insertion order of its items
+ * Membership checks, additions and removals of an item take constant (amortized) time
+ * Removed items leave a hole behind, which is cleared when the list is compacted:
+ * once the holes outnumber the items, or by the first access by index past the first hole
+ * Compacting doesn't change the items or their order, so it doesn't break the iterators
+ * open over the list: they find their place again by the number of items they went past
+ * Setting an item that is already part of the list swaps it with the item it replaces,
+ * so the list stays without duplicates while it's sorted or shuffled in place
+ *
+ * @param <E> The type of the items
+ */
+public final class IndexedLinkedSet<E> extends AbstractList<E>
+        implements RandomAccess, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int INITIAL_CAPACITY = 8;
+    private Object[] elements;
+    private int end = 0;
+    private int holes = 0;
+    private int firstHole = 0;
+    /**
+     * The number of times the list was compacted, so iterators know their cursor moved
+     */
+    private int compactions = 0;
+    private final HashMap<E, Integer> positions;
+
+    public IndexedLinkedSet() {
+        elements = new Object[INITIAL_CAPACITY];
+        positions = new HashMap<>();
+    }
+
+    public IndexedLinkedSet(final java.util.Collection<? extends E> items) {
+        elements = new Object[Math.max(INITIAL_CAPACITY, items.size())];
+        positions = new HashMap<>(Math.max(INITIAL_CAPACITY, items.size() * 2));
+        addAll(items);
+    }
+
+    /**
+     * Adds the item at the end of the list, if it's not already part of it
+     *
+     * @param item The item to be added
+     * @return {@code true} if the item was added, {@code false} if it was already in the list
+     */
+    @Override
+    public boolean add(final E item) {
+        Objects.requireNonNull(item);
+        if (positions.containsKey(item)) {
+            return false;
+        }
+        if (end == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length * 2);
+        }
+        elements[end] = item;
+        positions.put(item, end);
+        end++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Removes the item from the list
+     *
+     * @param item The item to be removed
+     * @return {@code true} if the item was part of the list, {@code false} otherwise
+     */
+    @Override
+    public boolean remove(final Object item) {
+        if (!removeWithoutCompacting(item)) {
+            return false;
+        }
+        if (holes > size()) {
+            compact();
+        }
+        return true;
+    }
+
+    @Override
+    public E remove(final int index) {
+        E item = get(index);
+        remove(item);
+        return item;
+    }
+
+    @Override
+    public boolean contains(final Object item) {
+        return positions.containsKey(item);
+    }
+
+    @Override
+    public int indexOf(final Object item) {
+        Integer position = positions.get(item);
+        if (position == null) {
+            return -1;
+        }
+        if (holes == 0 || position < firstHole) {
+            return position;
+        }
+        compact();
+        return positions.get(item);
+    }
+
+    @Override
+    public int lastIndexOf(final Object item) {
+        return indexOf(item);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(final int index) {
+        Objects.checkIndex(index, size());
+        if (holes > 0 && index >= firstHole) {
+            compact();
+        }
+        return (E) elements[index];
+    }
+
+    /**
+     * Replaces the item at the specified position
+     * If the new item is already part of the list, the replaced item takes its place,
+     * so the two items are swapped
+     *
+     * @param index The position of the item to be replaced
+     * @param item  The new item
+     * @return The replaced item
+     */
+    @Override
+    public E set(final int index, final E item) {
+        Objects.requireNonNull(item);
+        E replaced = get(index);
+        if (replaced.equals(item)) {
+            return replaced;
+        }
+        Integer position = positions.get(item);
+        if (position == null) {
+            positions.remove(replaced);
+        } else {
+            elements[position] = replaced;
+            positions.put(replaced, position);
+        }
+        elements[index] = item;
+        positions.put(item, index);
+        return replaced;
+    }
+
+    @Override
+    public int size() {
+        return end - holes;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(elements, 0, end, null);
+        positions.clear();
+        end = 0;
+        holes = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int cursor = 0;
+            /**
+             * The number of items before the cursor, which is where the cursor moves
+             * when the list is compacted
+             */
+            private int passed = 0;
+            private int compactedAt = compactions;
+            private E lastReturned = null;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                skipHoles();
+                return cursor < end;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                checkForComodification();
+                skipHoles();
+                if (cursor >= end) {
+                    throw new NoSuchElementException();
+                }
+                lastReturned = (E) elements[cursor++];
+                passed++;
+                return lastReturned;
+            }
+
+            @Override
+            public void remove() {
+                if (lastReturned == null) {
+                    throw new IllegalStateException();
+                }
+                checkForComodification();
+                removeWithoutCompacting(lastReturned);
+                passed--;
+                lastReturned = null;
+                expectedModCount = modCount;
+            }
+
+            private void skipHoles() {
+                if (compactedAt != compactions) {
+                    cursor = passed;
+                    compactedAt = compactions;
+                }
+                while (cursor < end && elements[cursor] == null) {
+                    cursor++;
+                }
+            }
+
+            private void checkForComodification() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        };
+    }
+
+    private boolean removeWithoutCompacting(final Object item) {
+        Integer position = positions.remove(item);
+        if (position == null) {
+            return false;
+        }
+        elements[position] = null;
+        if (holes == 0 || position < firstHole) {
+            firstHole = position;
+        }
+        holes++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Moves all the items to the front of the list, removing the holes left by removals
+     * The items keep their order, so it isn't counted as a modification of the list
+     */
+    @SuppressWarnings("unchecked")
+    private void compact() {
+        if (holes == 0) {
+            return;
+        }
+        int size = 0;
+        for (int i = 0; i < end; i++) {
+            if (elements[i] != null) {
+                elements[size] = elements[i];
+                positions.put((E) elements[size], size);
+                size++;
+            }
+        }
+        Arrays.fill(elements, size, end, null);
+        end = size;
+        holes = 0;
+        compactions++;
+    }
+}
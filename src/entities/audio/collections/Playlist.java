@@ -2,16 +2,26 @@ package entities.audio.collections;
 
 import entities.audio.Song;
 import entities.user.NormalUser;
+import fileio.snapshot.SnapshotReader;
+import fileio.snapshot.SnapshotWriter;
 import lombok.Getter;
+import recommendation.GenreHistogram;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * Implementation for a playlist object
  */
 public final class Playlist extends Collection<Song> {
+    private static final long serialVersionUID = 1L;
+
     private final ArrayList<NormalUser> followedBy = new ArrayList<>();
     /**
      * -- GETTER --
@@ -25,6 +35,8 @@ public final class Playlist extends Collection<Song> {
      */
     @Getter
     private int followers = 0;
+    private final ArrayList<GenreHistogram> genreHistograms = new ArrayList<>();
+    private final HashMap<String, Integer> songNames = new HashMap<>();
 
     public Playlist(final String name, final String owner, final ArrayList<Song> songs) {
         setName(name);
@@ -32,6 +44,20 @@ public final class Playlist extends Collection<Song> {
         setCollection(songs);
     }
 
+    /**
+     * Sets the songs of the playlist and counts their names
+     *
+     * @param songs The list of songs to be set
+     */
+    @Override
+    public void setCollection(final List<Song> songs) {
+        super.setCollection(songs);
+        songNames.clear();
+        for (Song song : getCollection()) {
+            songNames.merge(song.getName(), 1, Integer::sum);
+        }
+    }
+
     /**
      * Sets the visibility for the current playlist based on the Visibility enum.
      * The actual visibility value is stored as a String
@@ -139,42 +165,89 @@ public final class Playlist extends Collection<Song> {
     }
 
     /**
-     * Checks if the playlist contains a song judging by the song name
+     * Adds a song to the playlist and counts its genre
+     * for all the users that own, like or follow this playlist
      *
-     * @param songName The name of the song
-     * @return {@code true} if the playlist contains a song with the given name,
-     * {@code false} otherwise
+     * @param item The song to be added
      */
-    public boolean contains(final String songName) {
-        return collection.stream().anyMatch(song -> song.getName().equals(songName));
-    }
     @Override
-    public boolean equals(final Object obj) {
-        if (!(obj instanceof Playlist)) {
-            return false;
+    public void addItem(final Song item) {
+        if (!collection.add(item)) {
+            return;
+        }
+        songNames.merge(item.getName(), 1, Integer::sum);
+        for (GenreHistogram histogram : genreHistograms) {
+            histogram.addSong(item);
         }
-        Playlist playlist = (Playlist) obj;
+    }
 
-        if (!getName().equals(playlist.getName())) {
-            return false;
+    /**
+     * Removes a song from the playlist and from the genre counts
+     * of all the users that own, like or follow this playlist
+     *
+     * @param item The song to be removed
+     */
+    @Override
+    public void removeItem(final Song item) {
+        if (!itemExists(item)) {
+            return;
+        }
+        super.removeItem(item);
+        songNames.computeIfPresent(item.getName(), (name, count) -> count > 1 ? count - 1 : null);
+        for (GenreHistogram histogram : genreHistograms) {
+            histogram.removeSong(item);
         }
+    }
+
+    /**
+     * Starts counting the genres of this playlist's songs in the specified histogram
+     *
+     * @param histogram The genre histogram of a user that owns or follows this playlist
+     */
+    public void addGenreHistogram(final GenreHistogram histogram) {
+        genreHistograms.add(histogram);
+        histogram.addSongs(getCollection());
+    }
 
-        if (!getOwner().equals(playlist.getOwner())) {
-            return false;
+    /**
+     * Stops counting the genres of this playlist's songs in the specified histogram
+     *
+     * @param histogram The genre histogram of a user that no longer owns or follows this playlist
+     */
+    public void removeGenreHistogram(final GenreHistogram histogram) {
+        if (genreHistograms.remove(histogram)) {
+            histogram.removeSongs(getCollection());
         }
+    }
 
-        for (Song song1 : playlist.getCollection()) {
-            for (Song song2 : this.getCollection()) {
-                if (!song1.equals(song2)) {
-                    return false;
-                }
-            }
+    /**
+     * Checks if the playlist contains a song judging by the song name
+     *
+     * @param songName The name of the song
+     * @return {@code true} if the playlist contains a song with the given name,
+     * {@code false} otherwise
+     */
+    public boolean contains(final String songName) {
+        return songNames.containsKey(songName);
+    }
+
+    /**
+     * Leaves the fields of this playlist for later when it's written to a snapshot as a shell
+     *
+     * @param out The stream the playlist is written to
+     * @throws IOException if the playlist can't be written
+     * @see SnapshotWriter
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        if (!SnapshotWriter.defers(out, this)) {
+            out.defaultWriteObject();
         }
-        return true;
     }
 
-    @Override
-    public int hashCode() {
-        return super.hashCode();
+    private void readObject(final ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        if (!SnapshotReader.defers(in, this)) {
+            in.defaultReadObject();
+        }
     }
 }
@@ -3,23 +3,49 @@ package entities.audio.collections;
 import entities.audio.Episode;
 import fileio.input.EpisodeInput;
 import fileio.input.PodcastInput;
+import fileio.snapshot.SnapshotReader;
+import fileio.snapshot.SnapshotWriter;
+import libraries.catalog.CatalogSegment;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 
 /**
  * Implementation for a podcast object
  */
 public final class Podcast extends Collection<Episode> {
+    private static final long serialVersionUID = 1L;
+
     public Podcast(final PodcastInput podcast) {
         setName(podcast.getName());
         setOwner(podcast.getOwner());
-        collection = new ArrayList<>();
+        collection = new IndexedLinkedSet<>();
         for (EpisodeInput episodeInput : podcast.getEpisodes()) {
             Episode episode = new Episode(episodeInput);
             collection.add(episode);
         }
     }
 
+    /**
+     * Creates a podcast whose episodes are kept in a catalog segment
+     *
+     * @param podcast      The podcast from the input library
+     * @param catalog      The catalog segment
+     * @param firstEpisode The index of the record of the podcast's first episode,
+     *                     the other episodes follow it
+     */
+    public Podcast(final PodcastInput podcast, final CatalogSegment catalog,
+                   final int firstEpisode) {
+        setName(podcast.getName());
+        setOwner(podcast.getOwner());
+        collection = new IndexedLinkedSet<>();
+        for (int i = 0; i < podcast.getEpisodes().size(); i++) {
+            collection.add(new Episode(catalog, firstEpisode + i));
+        }
+    }
+
     public Podcast(final String podcastName,
                    final String owner,
                    final ArrayList<Episode> episodes) {
@@ -32,4 +58,24 @@ public final class Podcast extends Collection<Episode> {
     public String toString() {
         return this.getName() + ":\n\t" + this.getCollection();
     }
+
+    /**
+     * Leaves the fields of this podcast for later when it's written to a snapshot as a shell
+     *
+     * @param out The stream the podcast is written to
+     * @throws IOException if the podcast can't be written
+     * @see SnapshotWriter
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        if (!SnapshotWriter.defers(out, this)) {
+            out.defaultWriteObject();
+        }
+    }
+
+    private void readObject(final ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        if (!SnapshotReader.defers(in, this)) {
+            in.defaultReadObject();
+        }
+    }
 }
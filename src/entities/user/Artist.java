@@ -1,23 +1,34 @@
 package entities.user;
 
 import entities.audio.collections.Album;
+import entities.audio.collections.Collection;
 import fileio.input.UserInput;
+import fileio.snapshot.SnapshotReader;
+import fileio.snapshot.SnapshotWriter;
 import libraries.audio.AlbumsLibrary;
 import libraries.audio.SongsLibrary;
 import lombok.Getter;
 import notifications.Notifiable;
+import notifications.NotificationEvent;
+import notifications.NotificationLog;
+import notifications.NotificationType;
 import notifications.Notifier;
 import profile.artist.Event;
 import profile.artist.Merch;
 import statistics.listenTrackers.ListenTrackerArtist;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+
+public final class Artist extends User implements Notifier, ContentCreator {
+    private static final long serialVersionUID = 1L;
 
-public final class Artist extends User implements Notifier {
     private final LinkedHashSet<Album> albums = new LinkedHashSet<>();
     @Getter
     private final LinkedHashSet<Event> events = new LinkedHashSet<>();
@@ -25,7 +36,7 @@ public final class Artist extends User implements Notifier {
     private final LinkedHashSet<Merch> merchandise = new LinkedHashSet<>();
     @Getter
     private final ListenTrackerArtist listenTracker = new ListenTrackerArtist();
-    private final ArrayList<Notifiable> subscribers = new ArrayList<>();
+    private final NotificationLog notificationLog = new NotificationLog();
     private LinkedHashMap<String, Double> songsRevenueList;
     @Getter
     private double merchRevenue = 0;
@@ -34,6 +45,10 @@ public final class Artist extends User implements Notifier {
     private int pageViewers = 0;
     @Getter
     private int totalLikes;
+    /**
+     * The rendered content of the page, or {@code null} if it changed since it was rendered
+     */
+    private String renderedPage;
 
     public Artist(final String username, final int age, final String city) {
         UserInput userInput = new UserInput(username, age, city);
@@ -46,7 +61,10 @@ public final class Artist extends User implements Notifier {
      * @param album The album to be added.
      */
     public synchronized void addAlbum(final Album album) {
-        albums.add(album);
+        if (albums.add(album)) {
+            album.getUsageTracker().setParent(getUsageTracker());
+            renderedPage = null;
+        }
     }
 
     /**
@@ -67,14 +85,18 @@ public final class Artist extends User implements Notifier {
      * Increments the counter for the number of viewers on the artist's page.
      */
     public void incrementPageViewersCount() {
+        boolean wasViewed = pageViewers > 0;
         pageViewers++;
+        getUsageTracker().update(wasViewed, pageViewers > 0);
     }
 
     /**
      * Decrements the counter for the number of viewers on the artist's page.
      */
     public void decrementPageViewersCount() {
+        boolean wasViewed = pageViewers > 0;
         pageViewers--;
+        getUsageTracker().update(wasViewed, pageViewers > 0);
     }
 
     /**
@@ -83,7 +105,9 @@ public final class Artist extends User implements Notifier {
      * @param event The event to be added.
      */
     public void addEvent(final Event event) {
-        events.add(event);
+        if (events.add(event)) {
+            renderedPage = null;
+        }
     }
 
     /**
@@ -102,7 +126,9 @@ public final class Artist extends User implements Notifier {
      * @param merch The merchandise to be added.
      */
     public void addMerch(final Merch merch) {
-        this.merchandise.add(merch);
+        if (this.merchandise.add(merch)) {
+            renderedPage = null;
+        }
     }
 
     /**
@@ -125,6 +151,8 @@ public final class Artist extends User implements Notifier {
         SongsLibrary.getInstance().removeSongsFromAlbum(album);
         AlbumsLibrary.getInstance().removeAlbum(album);
         albums.remove(album);
+        album.getUsageTracker().setParent(null);
+        renderedPage = null;
     }
 
     /**
@@ -136,18 +164,17 @@ public final class Artist extends User implements Notifier {
      */
     @Override
     public boolean isDeletable() {
-        if (pageViewers > 0) {
-            return false;
-        }
-        if (albums == null) {
-            return true;
-        }
-        for (Album album : albums) {
-            if (!album.isDeletable()) {
-                return false;
-            }
+        return !getUsageTracker().isUsed();
+    }
+
+    @Override
+    public String getPageContent() {
+        if (renderedPage == null) {
+            List<String> albumNames = albums.stream().map(Collection::getName).toList();
+            renderedPage = "Albums:\n\t" + albumNames + "\n\nMerch:\n\t" + merchandise
+                    + "\n\nEvents:\n\t" + events;
         }
-        return true;
+        return renderedPage;
     }
 
     @Override
@@ -185,7 +212,9 @@ public final class Artist extends User implements Notifier {
      */
     public void removeEvent(final String eventName) {
         Event event = getEventByName(eventName);
-        events.remove(event);
+        if (events.remove(event)) {
+            renderedPage = null;
+        }
     }
 
     /**
@@ -264,19 +293,22 @@ public final class Artist extends User implements Notifier {
 
     @Override
     public void addObserver(final Notifiable observer) {
-        subscribers.add(observer);
+        notificationLog.subscribe(observer);
     }
 
     @Override
     public void removeObserver(final Notifiable observer) {
-        subscribers.remove(observer);
+        notificationLog.unsubscribe(observer).forEach(observer::update);
     }
 
     @Override
-    public void notifyObservers(final HashMap<String, String> notification) {
-        for (Notifiable notifiable : subscribers) {
-            notifiable.update(notification);
-        }
+    public void notifyObservers(final NotificationType notificationType) {
+        notificationLog.publish(NotificationEvent.of(notificationType, getName()));
+    }
+
+    @Override
+    public List<NotificationEvent> collectNotifications(final Notifiable observer) {
+        return notificationLog.receive(observer);
     }
 
     /**
@@ -286,4 +318,24 @@ public final class Artist extends User implements Notifier {
     public double getTotalRevenue() {
         return merchRevenue + songsRevenue;
     }
+
+    /**
+     * Leaves the fields of this artist for later when it's written to a snapshot as a shell
+     *
+     * @param out The stream the artist is written to
+     * @throws IOException if the artist can't be written
+     * @see SnapshotWriter
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        if (!SnapshotWriter.defers(out, this)) {
+            out.defaultWriteObject();
+        }
+    }
+
+    private void readObject(final ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        if (!SnapshotReader.defers(in, this)) {
+            in.defaultReadObject();
+        }
+    }
 }
@@ -1,5 +1,12 @@
 package entities.user;
 
 public interface ContentCreator {
-
+    /**
+     * Gets the content of the creator's page
+     * The content depends only on the creator, so it's rendered once
+     * and shared by all the users viewing the page, until the page changes
+     *
+     * @return A formatted string with the content of the page
+     */
+    String getPageContent();
 }
@@ -2,25 +2,40 @@ package entities.user;
 
 import entities.audio.collections.Podcast;
 import fileio.input.UserInput;
+import fileio.snapshot.SnapshotReader;
+import fileio.snapshot.SnapshotWriter;
 import lombok.Getter;
 import notifications.Notifiable;
+import notifications.NotificationEvent;
+import notifications.NotificationLog;
+import notifications.NotificationType;
 import notifications.Notifier;
 import profile.host.Announcement;
 import statistics.listenTrackers.ListenTrackerHost;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
+
+public final class Host extends User implements Notifier, ContentCreator {
+    private static final long serialVersionUID = 1L;
 
-public final class Host extends User implements Notifier {
     @Getter
     private final LinkedHashSet<Podcast> podcasts = new LinkedHashSet<>();
     @Getter
     private final LinkedHashSet<Announcement> announcements = new LinkedHashSet<>();
     @Getter
     private final ListenTrackerHost listenTracker = new ListenTrackerHost();
-    private final ArrayList<Notifiable> subscribers = new ArrayList<>();
+    private final NotificationLog notificationLog = new NotificationLog();
     private int pageViewersCount = 0;
+    /**
+     * The rendered content of the page, or {@code null} if it changed since it was rendered
+     */
+    private String renderedPage;
 
     public Host(final String username, final int age, final String city) {
         UserInput userInput = new UserInput(username, age, city);
@@ -33,7 +48,10 @@ public final class Host extends User implements Notifier {
      * @param podcast The podcast to be added.
      */
     public void addPodcast(final Podcast podcast) {
-        podcasts.add(podcast);
+        if (podcasts.add(podcast)) {
+            podcast.getUsageTracker().setParent(getUsageTracker());
+            renderedPage = null;
+        }
     }
 
     /**
@@ -42,7 +60,9 @@ public final class Host extends User implements Notifier {
      * @param announcement The announcement to be added.
      */
     public void addAnnouncement(final Announcement announcement) {
-        announcements.add(announcement);
+        if (announcements.add(announcement)) {
+            renderedPage = null;
+        }
     }
 
     /**
@@ -75,7 +95,9 @@ public final class Host extends User implements Notifier {
      * @param announcement The announcement to be removed.
      */
     public void removeAnnouncement(final Announcement announcement) {
-        announcements.remove(announcement);
+        if (announcements.remove(announcement)) {
+            renderedPage = null;
+        }
     }
 
     /**
@@ -105,14 +127,18 @@ public final class Host extends User implements Notifier {
      * Increments the counter for the number of users that are on this host's page
      */
     public void incrementPageViewersCount() {
+        boolean wasViewed = pageViewersCount > 0;
         pageViewersCount++;
+        getUsageTracker().update(wasViewed, pageViewersCount > 0);
     }
 
     /**
      * Decrements the counter for the number of users that are on this host's page
      */
     public void decrementPageViewersCount() {
+        boolean wasViewed = pageViewersCount > 0;
         pageViewersCount--;
+        getUsageTracker().update(wasViewed, pageViewersCount > 0);
     }
 
     /**
@@ -135,22 +161,49 @@ public final class Host extends User implements Notifier {
      */
     public void removePodcast(final Podcast podcast) {
         podcasts.remove(podcast);
+        podcast.getUsageTracker().setParent(null);
+        renderedPage = null;
     }
 
+    /**
+     * Checks if the host is deletable
+     * To be deletable, a host shouldn't have any of their podcasts playing
+     * or a viewer on their page
+     *
+     * @return {@code true} if the host is deletable, {@code false} otherwise
+     */
     @Override
     public boolean isDeletable() {
-        if (pageViewersCount > 0) {
-            return false;
-        }
-        if (podcasts == null) {
-            return true;
+        return !getUsageTracker().isUsed();
+    }
+
+    @Override
+    public String getPageContent() {
+        if (renderedPage == null) {
+            renderedPage = "Podcasts:\n\t" + podcastListToString()
+                    + "\n\nAnnouncements:\n\t" + announcements;
         }
-        for (Podcast podcast : podcasts) {
-            if (!podcast.isDeletable()) {
-                return false;
+        return renderedPage;
+    }
+
+    /**
+     * Converts the podcasts to a formatted string representation.
+     *
+     * @return A formatted string representation of the podcasts.
+     */
+    private String podcastListToString() {
+        StringBuilder result = new StringBuilder("[");
+        Iterator<Podcast> iterator = podcasts.iterator();
+        while (iterator.hasNext()) {
+            Podcast podcast = iterator.next();
+            result.append(podcast);
+            result.append("\n");
+            if (iterator.hasNext()) {
+                result.append(", ");
             }
         }
-        return true;
+        result.append("]");
+        return result.toString();
     }
 
     @Override
@@ -165,18 +218,41 @@ public final class Host extends User implements Notifier {
 
     @Override
     public void addObserver(final Notifiable observer) {
-        subscribers.add(observer);
+        notificationLog.subscribe(observer);
     }
 
     @Override
     public void removeObserver(final Notifiable observer) {
-        subscribers.remove(observer);
+        notificationLog.unsubscribe(observer).forEach(observer::update);
     }
 
     @Override
-    public void notifyObservers(final HashMap<String, String> notification) {
-        for (Notifiable notifiable : subscribers) {
-            notifiable.update(notification);
+    public void notifyObservers(final NotificationType notificationType) {
+        notificationLog.publish(NotificationEvent.of(notificationType, getName()));
+    }
+
+    @Override
+    public List<NotificationEvent> collectNotifications(final Notifiable observer) {
+        return notificationLog.receive(observer);
+    }
+
+    /**
+     * Leaves the fields of this host for later when it's written to a snapshot as a shell
+     *
+     * @param out The stream the host is written to
+     * @throws IOException if the host can't be written
+     * @see SnapshotWriter
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        if (!SnapshotWriter.defers(out, this)) {
+            out.defaultWriteObject();
+        }
+    }
+
+    private void readObject(final ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        if (!SnapshotReader.defers(in, this)) {
+            in.defaultReadObject();
         }
     }
 }
@@ -1,38 +1,52 @@
 package entities.user;
 
 import commands.normalUser.pageNavigation.PageChangeInvoker;
+import commands.normalUser.pageNavigation.PageType;
 import entities.audio.Audio;
 import entities.audio.Song;
 import entities.audio.collections.Collection;
+import entities.audio.collections.IndexedLinkedSet;
 import entities.audio.collections.Playlist;
-import entities.audio.collections.Podcast;
 import fileio.input.CommandInput;
 import fileio.input.UserInput;
 import fileio.output.PageOutput;
+import fileio.snapshot.SnapshotReader;
+import fileio.snapshot.SnapshotWriter;
 import libraries.users.ArtistsLibrary;
 import libraries.users.HostsLibrary;
 import lombok.Getter;
+import managers.TimeChangeListener;
+import managers.TimeManager;
 import managers.normalUser.AppManager;
+import managers.normalUser.HibernatedApp;
 import managers.normalUser.ProgressManager;
 import notifications.Notifiable;
-import profile.artist.Event;
-import profile.artist.Merch;
-import profile.host.Announcement;
-
+import notifications.NotificationEvent;
+import notifications.NotificationMailbox;
+import notifications.Notifier;
+import recommendation.GenreHistogram;
+import recommendation.LikedSongsRanking;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 
-public final class NormalUser extends User implements Notifiable {
-    private final List<HashMap<String, String>> notifications = new ArrayList<>();
+public final class NormalUser extends User implements Notifiable, TimeChangeListener {
+    private static final long serialVersionUID = 1L;
+
+    private final NotificationMailbox notifications = new NotificationMailbox();
     private static final long MAX_SIZE = 5;
+    private static final Integer HIBERNATE_AFTER = Integer.getInteger(HibernatedApp.IDLE_PROPERTY);
     /**
      * -- GETTER --
      *  Gets the playlists for this user
@@ -42,9 +56,17 @@ public final class NormalUser extends User implements Notifiable {
     @Getter
     private Playlist liked;
     @Getter
-    private ArrayList<Playlist> followedPlaylists;
+    private IndexedLinkedSet<Playlist> followedPlaylists;
     private ProgressManager progressManager;
     private AppManager app;
+    /**
+     * The app and the progress manager while they are hibernated, {@code null} otherwise
+     */
+    private HibernatedApp hibernatedApp;
+    /**
+     * The time the app was last addressed at
+     */
+    private int lastAddressed;
     @Getter
     private boolean isPremium;
     private final Set<User> subscriptions = new HashSet<>();
@@ -58,6 +80,20 @@ public final class NormalUser extends User implements Notifiable {
     private ArrayList<Song> songsRecommendations = new ArrayList<>();
     @Getter
     private Audio lastRecommendation;
+    @Getter
+    private final GenreHistogram genreHistogram = new GenreHistogram();
+    @Getter
+    private final LikedSongsRanking likedSongsRanking = new LikedSongsRanking();
+    private final PageRenderCache pageCache = new PageRenderCache();
+    /**
+     * The version of the user's content shown on the home and liked content pages
+     */
+    private long pageVersion = 0;
+    /**
+     * The version of the likes counts the home page is ordered by: the counts of the
+     * liked songs and of the recommended songs
+     */
+    private long likesVersion = 0;
     public NormalUser(final UserInput userInput) {
         super(userInput);
     }
@@ -76,6 +112,9 @@ public final class NormalUser extends User implements Notifiable {
      * @see ProgressManager
      */
     public synchronized ProgressManager getProgressManager() {
+        if (hibernatedApp != null) {
+            rehydrate();
+        }
         if (progressManager == null) {
             progressManager = new ProgressManager(this);
         }
@@ -84,16 +123,94 @@ public final class NormalUser extends User implements Notifiable {
 
     /**
      * Gets the app manager for the current user
-     * If it's not initialized yet, it initializes it too
+     * If it's not initialized yet, it initializes it too, and the user starts being told
+     * about time changes, or it's rehydrated if it was hibernated
      *
      * @return The instance for the {@code AppManager}
      * @see AppManager
      */
-    public synchronized AppManager getApp() {
-        if (app == null) {
-            app = new AppManager(getName());
+    public AppManager getApp() {
+        AppManager addressedApp;
+        boolean created = false;
+        synchronized (this) {
+            if (hibernatedApp != null) {
+                rehydrate();
+            } else if (app == null) {
+                app = new AppManager(getName());
+                created = true;
+            }
+            lastAddressed = TimeManager.getInstance().getTime();
+            addressedApp = app;
+        }
+        if (created) {
+            TimeManager.getInstance().addTimeChangeListener(this);
+        }
+        return addressedApp;
+    }
+
+    /**
+     * Checks if the app for this user was already created
+     *
+     * @return {@code true} if the app exists, even if hibernated, {@code false} otherwise
+     */
+    public synchronized boolean hasApp() {
+        return app != null || hibernatedApp != null;
+    }
+
+    /**
+     * Tells the player of the app about the time change, unless the app is hibernated
+     * When the {@value HibernatedApp#IDLE_PROPERTY} system property is set, the app is
+     * hibernated afterwards if it wasn't addressed for that long and its player is idle
+     *
+     * @param timeDifference the difference in time between old timestamp and new timestamp
+     */
+    @Override
+    public void onTimeChanged(final int timeDifference) {
+        AppManager residentApp;
+        synchronized (this) {
+            residentApp = app;
+        }
+        if (residentApp == null) {
+            return;
+        }
+        residentApp.getPlayerManager().onTimeChanged(timeDifference);
+        if (HIBERNATE_AFTER != null) {
+            hibernateIfIdle();
+        }
+    }
+
+    private synchronized void hibernateIfIdle() {
+        if (app != null && TimeManager.getInstance().getTime() - lastAddressed >= HIBERNATE_AFTER
+                && HibernatedApp.canHibernate(app)) {
+            hibernatedApp = HibernatedApp.hibernate(app, progressManager);
+            app = null;
+            progressManager = null;
+        }
+    }
+
+    /**
+     * Releases the app of a deleted user: its player is emptied and stops being told
+     * about time changes
+     */
+    public void releaseApp() {
+        AppManager releasedApp;
+        synchronized (this) {
+            if (hibernatedApp != null) {
+                rehydrate();
+            }
+            releasedApp = app;
+        }
+        if (releasedApp != null) {
+            TimeManager.getInstance().removeTimeChangeListener(this);
+            releasedApp.getPlayerManager().release();
         }
-        return app;
+    }
+
+    private void rehydrate() {
+        HibernatedApp.Rehydrated rehydrated = hibernatedApp.rehydrate();
+        app = rehydrated.app();
+        progressManager = rehydrated.progress();
+        hibernatedApp = null;
     }
 
     /**
@@ -108,13 +225,14 @@ public final class NormalUser extends User implements Notifiable {
      */
     public synchronized void initLikedPlaylist() {
         liked = new Playlist("Liked", getName(), new ArrayList<>());
+        liked.addGenreHistogram(genreHistogram);
     }
 
     /**
      * Initialize the followed playlists list
      */
     public synchronized void initFollowedPlaylists() {
-        followedPlaylists = new ArrayList<>();
+        followedPlaylists = new IndexedLinkedSet<>();
     }
 
     /**
@@ -123,7 +241,19 @@ public final class NormalUser extends User implements Notifiable {
      * @param playlists The list of playlists to be set
      */
     public void setPlaylists(final ArrayList<Playlist> playlists) {
+        if (this.playlists != null) {
+            this.playlists.forEach(playlist -> {
+                playlist.removeGenreHistogram(genreHistogram);
+                playlist.getUsageTracker().setParent(null);
+            });
+        }
         this.playlists = playlists;
+        if (playlists != null) {
+            playlists.forEach(playlist -> {
+                playlist.addGenreHistogram(genreHistogram);
+                playlist.getUsageTracker().setParent(getUsageTracker());
+            });
+        }
     }
 
     /**
@@ -136,6 +266,8 @@ public final class NormalUser extends User implements Notifiable {
             initPlaylists();
         }
         playlists.add(newPlaylist);
+        newPlaylist.addGenreHistogram(genreHistogram);
+        newPlaylist.getUsageTracker().setParent(getUsageTracker());
     }
 
     /**
@@ -150,6 +282,8 @@ public final class NormalUser extends User implements Notifiable {
         }
         if (!isSongLiked(song)) {
             liked.addItem(song);
+            likedSongsRanking.add(song);
+            pageVersion++;
         }
     }
 
@@ -165,6 +299,8 @@ public final class NormalUser extends User implements Notifiable {
         }
         if (!isPlaylistFollowed(playlist)) {
             followedPlaylists.add(playlist);
+            playlist.addGenreHistogram(genreHistogram);
+            pageVersion++;
         }
     }
 
@@ -180,6 +316,8 @@ public final class NormalUser extends User implements Notifiable {
         }
         if (isPlaylistFollowed(followedPlaylist)) {
             followedPlaylists.remove(followedPlaylist);
+            followedPlaylist.removeGenreHistogram(genreHistogram);
+            pageVersion++;
         }
     }
 
@@ -209,6 +347,17 @@ public final class NormalUser extends User implements Notifiable {
         return liked.containsItem(song);
     }
 
+    /**
+     * Tells the user that the likes count of a song they liked or were recommended changed
+     * The liked songs are ranked again and the home page rendered again when next read
+     *
+     * @param song The song whose likes changed
+     */
+    public void songLikesChanged(final Song song) {
+        likedSongsRanking.likesChanged(song);
+        likesVersion++;
+    }
+
     /**
      * Unlikes a song
      * Removes a song from the liked songs playlist
@@ -220,9 +369,23 @@ public final class NormalUser extends User implements Notifiable {
             return;
         }
         liked.removeItem(song);
+        likedSongsRanking.remove(song);
+        pageVersion++;
     }
 
+    /**
+     * Checks if the user is online, without rehydrating a hibernated app
+     *
+     * @return {@code true} if the user is online
+     */
     public boolean isOnline() {
+        synchronized (this) {
+            if (hibernatedApp != null) {
+                return hibernatedApp.isOnline();
+            } else if (app != null) {
+                return app.isOnline();
+            }
+        }
         return getApp().isOnline();
     }
 
@@ -232,7 +395,7 @@ public final class NormalUser extends User implements Notifiable {
      * @param playlistsToName The list of followed playlists.
      * @return A list containing the names of the playlists.
      */
-    private List<String> getPlaylistNames(final ArrayList<Playlist> playlistsToName) {
+    private List<String> getPlaylistNames(final List<Playlist> playlistsToName) {
         return Optional.ofNullable(playlistsToName)
                 .map(playlist -> playlist.stream().map(Collection::getName).toList())
                 .orElse(new ArrayList<>());
@@ -244,14 +407,9 @@ public final class NormalUser extends User implements Notifiable {
      * @return A formatted string containing information about liked songs and followed playlists.
      */
     private String printHomePage() {
-        Optional<Playlist> likedSongs = Optional.ofNullable(getLiked());
-        List<String> likedSongsNames = likedSongs.map(likedObj ->
-                        likedObj.getCollection().stream()
-                                .sorted(Comparator.comparingInt(Song::getLikes).reversed())
-                                .map(Song::getName)
-                                .limit(MAX_SIZE)
-                                .toList())
-                .orElse(List.of());
+        List<String> likedSongsNames = likedSongsRanking.top(MAX_SIZE).stream()
+                .map(Song::getName)
+                .toList();
         List<String> recommendedSongsNames = songsRecommendations.stream()
                                 .sorted(Comparator.comparingInt(Song::getLikes).reversed())
                                 .map(Song::getName)
@@ -272,48 +430,14 @@ public final class NormalUser extends User implements Notifiable {
      * @return A formatted string containing information about liked songs and followed playlists.
      */
     private String printLikedContentPage() {
-        ArrayList<Song> likedSongs = getLiked() != null ? getLiked().getCollection()
+        List<Song> likedSongs = getLiked() != null ? getLiked().getCollection()
                 : new ArrayList<>();
-        ArrayList<Playlist> followed
+        List<Playlist> followed
                 = getFollowedPlaylists() != null ? getFollowedPlaylists() : new ArrayList<>();
         return "Liked songs:\n\t" + songListToString(likedSongs)
                 + "\n\nFollowed playlists:\n\t" + playlistListToString(followed);
     }
 
-    /**
-     * Prints information about the artists page, including albums, merch, and events.
-     *
-     * @return A formatted string containing information about albums, merch, and events.
-     */
-    private String printArtistsPage() {
-        Artist artist = ArtistsLibrary.getInstance().getArtistByName(app.getPageOwner());
-        List<String> albumNames = artist.getAlbums().stream().map(Collection::getName).toList();
-        LinkedHashSet<Merch> merch = artist.getMerchandise();
-        LinkedHashSet<Event> events = artist.getEvents();
-        return "Albums:\n\t" + albumNames + "\n\nMerch:\n\t" + merch + "\n\nEvents:\n\t" + events;
-    }
-
-    /**
-     * Converts a LinkedHashSet of Podcast objects to a formatted string representation.
-     *
-     * @param podcasts The set of podcasts to be converted to a string.
-     * @return A formatted string representation of the podcasts.
-     */
-    private String podcastListToString(final LinkedHashSet<Podcast> podcasts) {
-        StringBuilder result = new StringBuilder("[");
-        Iterator<Podcast> iterator = podcasts.iterator();
-        while (iterator.hasNext()) {
-            Podcast podcast = iterator.next();
-            result.append(podcast);
-            result.append("\n");
-            if (iterator.hasNext()) {
-                result.append(", ");
-            }
-        }
-        result.append("]");
-        return result.toString();
-    }
-
     /**
      * Converts an ArrayList of Song objects to a formatted string
      * representation.
@@ -321,7 +445,7 @@ public final class NormalUser extends User implements Notifiable {
      * @param songs The list of songs to be converted to a string.
      * @return A formatted string representation of the songs.
      */
-    private String songListToString(final ArrayList<Song> songs) {
+    private String songListToString(final List<Song> songs) {
         StringBuilder result = new StringBuilder("[");
         Iterator<Song> iterator = songs.iterator();
         while (iterator.hasNext()) {
@@ -340,7 +464,7 @@ public final class NormalUser extends User implements Notifiable {
      * @param playlistsToString The ArrayList of playlists to be converted to a string.
      * @return A formatted string containing information about the playlists.
      */
-    private String playlistListToString(final ArrayList<Playlist> playlistsToString) {
+    private String playlistListToString(final List<Playlist> playlistsToString) {
         StringBuilder result = new StringBuilder("[");
         Iterator<Playlist> iterator = playlistsToString.iterator();
         while (iterator.hasNext()) {
@@ -354,36 +478,34 @@ public final class NormalUser extends User implements Notifiable {
         return result.toString();
     }
 
-    /**
-     * Prints information about a host's page, including podcasts and announcements.
-     * Retrieves the host from HostsLibrary based on the application's current page owner.
-     *
-     * @return A formatted string containing information about podcasts and announcements.
-     */
-    private String printHostsPage() {
-        Host host = HostsLibrary.getInstance().getHostByName(app.getPageOwner());
-        assert host != null;
-        LinkedHashSet<Podcast> podcasts = host.getPodcasts();
-        LinkedHashSet<Announcement> announcements = host.getAnnouncements();
-        return "Podcasts:\n\t" + podcastListToString(podcasts)
-                + "\n\nAnnouncements:\n\t" + announcements;
-    }
-
     /**
      * Performs printing for the current page based on the application state.
+     * The page is rendered again only if its owner or the content it shows changed
+     * since it was last printed.
      *
      * @param command The input command for printing the current page.
      * @return A PageOutput containing the result of the print operation.
      */
     public PageOutput performPrintCurrentPage(final CommandInput command) {
-        if (!app.isOnline()) {
-            return new PageOutput(command, app.getUserOfflineMessage());
+        AppManager userApp = getApp();
+        if (!userApp.isOnline()) {
+            return new PageOutput(command, userApp.getUserOfflineMessage());
         }
-        String message = switch (getApp().getPage().pageType()) {
-            case homePage -> printHomePage();
-            case artistPage -> printArtistsPage();
-            case hostPage -> printHostsPage();
-            case likedContentPage -> printLikedContentPage();
+        PageType pageType = userApp.getPage().pageType();
+        String message = switch (pageType) {
+            case homePage -> pageCache.render(pageType, this, pageVersion,
+                    songsRecommendations.size() > 1 || likedSongsRanking.size() > 1
+                            ? likesVersion : 0,
+                    this::printHomePage);
+            case artistPage -> ArtistsLibrary.getInstance().getArtistByName(userApp.getPageOwner())
+                    .getPageContent();
+            case hostPage -> {
+                Host host = HostsLibrary.getInstance().getHostByName(userApp.getPageOwner());
+                assert host != null;
+                yield host.getPageContent();
+            }
+            case likedContentPage -> pageCache.render(pageType, this, pageVersion, 0,
+                    this::printLikedContentPage);
         };
         return new PageOutput(command, message);
     }
@@ -396,15 +518,7 @@ public final class NormalUser extends User implements Notifiable {
      */
     @Override
     public boolean isDeletable() {
-        if (playlists == null) {
-            return true;
-        }
-        for (Playlist playlist : playlists) {
-            if (!playlist.isDeletable()) {
-                return false;
-            }
-        }
-        return true;
+        return !getUsageTracker().isUsed();
     }
 
     @Override
@@ -459,20 +573,41 @@ public final class NormalUser extends User implements Notifiable {
     }
 
     @Override
-    public void update(final HashMap<String, String> notification) {
+    public void update(final NotificationEvent notification) {
         notifications.add(notification);
     }
 
+    @Override
+    public void overflow(final long count) {
+        notifications.overflow(count);
+    }
+
     /**
      * Get the notifications for this user
+     * The notifications sent directly to the user are merged with the ones published
+     * by the artists and hosts the user is subscribed to, in the order they were sent
+     * Only the newest notifications that fit in the mailbox are kept
      * After the notifications were retrieved, delete them
      *
      * @return A list with all the notifications
      */
     public ArrayList<HashMap<String, String>> getNotifications() {
-        ArrayList<HashMap<String, String>> currentNotifications = new ArrayList<>(notifications);
-        notifications.clear();
-        return currentNotifications;
+        ArrayList<NotificationEvent> collected = new ArrayList<>();
+        for (User user : subscriptions) {
+            if (user instanceof Notifier notifier) {
+                collected.addAll(notifier.collectNotifications(this));
+            }
+        }
+        return notifications.drain(collected);
+    }
+
+    /**
+     * Gets the artists and hosts this user is subscribed to
+     *
+     * @return An unmodifiable view over the subscriptions
+     */
+    public Set<User> getSubscriptions() {
+        return Collections.unmodifiableSet(subscriptions);
     }
 
     /**
@@ -515,6 +650,7 @@ public final class NormalUser extends User implements Notifiable {
      */
     public void addRecommendedPlaylist(final Playlist recommendation) {
         playlistRecommendations.add(recommendation);
+        pageVersion++;
         setLastRecommendation(recommendation);
     }
     /**
@@ -524,10 +660,32 @@ public final class NormalUser extends User implements Notifiable {
      */
     public void addRecommendedSong(final Song recommendation) {
         songsRecommendations.add(recommendation);
+        recommendation.addRecommendedTo(this);
+        pageVersion++;
         setLastRecommendation(recommendation);
     }
 
     public void setLastRecommendation(final Audio lastRecommendation) {
         this.lastRecommendation = lastRecommendation;
     }
+
+    /**
+     * Leaves the fields of this user for later when it's written to a snapshot as a shell
+     *
+     * @param out The stream the user is written to
+     * @throws IOException if the user can't be written
+     * @see SnapshotWriter
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        if (!SnapshotWriter.defers(out, this)) {
+            out.defaultWriteObject();
+        }
+    }
+
+    private void readObject(final ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        if (!SnapshotReader.defers(in, this)) {
+            in.defaultReadObject();
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package entities.user;
+
+import commands.normalUser.pageNavigation.PageType;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the last rendered content of every type of page a user visited
+ * A rendered page is reused as long as it has the same owner and the version counters
+ * of everything it was rendered from didn't change
+ */
+final class PageRenderCache implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final EnumMap<PageType, RenderedPage> pages = new EnumMap<>(PageType.class);
+
+    /**
+     * Gets the content of a page, rendering it only if it changed since the last time
+     *
+     * @param pageType      The type of the page
+     * @param owner         The entity that owns the page
+     * @param version      The version of the owner's content shown on the page
+     * @param likesVersion The version of the likes counts the page is ordered by,
+     *                     or {@code 0} if the page doesn't depend on them
+     * @param renderer     Renders the content of the page
+     * @return The content of the page
+     */
+    String render(final PageType pageType, final Object owner, final long version,
+                  final long likesVersion, final Supplier<String> renderer) {
+        RenderedPage page = pages.get(pageType);
+        if (page != null && page.owner() == owner && page.version() == version
+                && page.likesVersion() == likesVersion) {
+            return page.content();
+        }
+        String content = renderer.get();
+        pages.put(pageType, new RenderedPage(owner, version, likesVersion, content));
+        return content;
+    }
+
+    private record RenderedPage(Object owner, long version, long likesVersion, String content)
+            implements Serializable {
+    }
+}
@@ -1,12 +1,23 @@
 package entities.user;
 
-import entities.Entity;
+import entities.EntityIds;
+import entities.IdentifiableEntity;
+import entities.UsageTracker;
 import fileio.input.UserInput;
+import fileio.snapshot.SnapshotReader;
+import fileio.snapshot.SnapshotWriter;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.HashMap;
 
-public abstract class User implements Entity {
+public abstract class User implements IdentifiableEntity {
+    private static final long serialVersionUID = 1L;
+
+    private transient long id = EntityIds.next();
     private UserInput userInput;
+    private final UsageTracker usageTracker = new UsageTracker();
 
     public User(final UserInput userInput) {
         setUserInput(userInput);
@@ -25,6 +36,15 @@ public abstract class User implements Entity {
         this.userInput = userInput;
     }
 
+    /**
+     * Gets the tracker for whether any of the content of this user is in use
+     *
+     * @return the usage tracker
+     */
+    public final UsageTracker getUsageTracker() {
+        return usageTracker;
+    }
+
     /**
      * Get the username
      *
@@ -118,4 +138,53 @@ public abstract class User implements Entity {
      * @return The message
      */
     public abstract String getNoStatsMessage();
+
+    /**
+     * Get the id of the user
+     *
+     * @return the id
+     */
+    @Override
+    public final long getId() {
+        return id;
+    }
+
+    /**
+     * Checks if this user is the same as the object given as a parameter
+     *
+     * @param obj The object to check for equality
+     * @return {@code true} if the users have the same id, {@code false} otherwise
+     */
+    @Override
+    public final boolean equals(final Object obj) {
+        return obj instanceof User user && id == user.id;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Long.hashCode(id);
+    }
+
+    /**
+     * Writes the id ahead of the other fields, so that it's set before this user
+     * is added to any hashed collection while a snapshot is read
+     * The other fields are left for later when it's written to a snapshot as a shell
+     *
+     * @param out The stream the user is written to
+     * @throws IOException if the user can't be written
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.writeLong(id);
+        if (!SnapshotWriter.defers(out, this)) {
+            out.defaultWriteObject();
+        }
+    }
+
+    private void readObject(final ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        id = in.readLong();
+        if (!SnapshotReader.defers(in, this)) {
+            in.defaultReadObject();
+        }
+    }
 }
@@ -0,0 +1,74 @@
+package fileio.binary;
+
+import java.io.File;
+
+/**
+ * The layout of a binary command log
+ * <p>
+ * The log starts with a header: the {@link #MAGIC} number, the {@link #VERSION} and the
+ * schemas, which list for every command type in the log the fields stored for it.
+ * It is followed by frames, each made of its kind, its length and its payload:
+ * <ul>
+ *     <li>{@link #DICTIONARY_FRAME}: strings added to the dictionary, which refers to every
+ *     string by its position, so usernames and names are only stored once</li>
+ *     <li>{@link #COMMAND_FRAME}: the index of the command's schema,
+ *     followed by the values of the fields in the schema</li>
+ * </ul>
+ * Numbers are stored as variable-length integers, and the timestamps as the difference
+ * from the previous command's timestamp
+ * Search filters are stored by name, like the command types and the fields, so a log stays
+ * readable when filters are added or reordered
+ */
+public final class BinaryCommandLog {
+    public static final String EXTENSION = ".bin";
+    static final int MAGIC = 0x434C4F47;
+    static final int VERSION = 2;
+    static final int DICTIONARY_FRAME = 1;
+    static final int COMMAND_FRAME = 2;
+
+    /**
+     * The string reference used for {@code null} strings, the others start from 1
+     */
+    static final int NULL_STRING = 0;
+
+    static final int NULL_VALUE = 0;
+    static final int STRING_VALUE = 1;
+    static final int INT_VALUE = 2;
+    static final int LONG_VALUE = 3;
+    static final int DOUBLE_VALUE = 4;
+    static final int BOOLEAN_VALUE = 5;
+    static final int LIST_VALUE = 6;
+
+    private BinaryCommandLog() {
+    }
+
+    /**
+     * Checks if a file is a binary command log, rather than a JSON one
+     *
+     * @param file The file with the commands
+     * @return {@code true} if the file is a binary command log, {@code false} otherwise
+     */
+    public static boolean isBinaryLog(final File file) {
+        return file.getName().endsWith(EXTENSION);
+    }
+
+    /**
+     * Encodes a signed number so that numbers close to zero take few bytes
+     *
+     * @param value The number to be encoded
+     * @return The encoded number
+     */
+    static long zigZag(final long value) {
+        return (value << 1) ^ (value >> (Long.SIZE - 1));
+    }
+
+    /**
+     * Decodes a number encoded by {@link #zigZag(long)}
+     *
+     * @param value The encoded number
+     * @return The decoded number
+     */
+    static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
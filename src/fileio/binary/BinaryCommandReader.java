@@ -0,0 +1,319 @@
+package fileio.binary;
+
+import commands.CommandType;
+import commands.normalUser.searchBar.filter.Filters;
+import fileio.input.CommandInput;
+import fileio.input.EpisodeInput;
+import fileio.input.SongInput;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the commands from a binary command log, one at a time
+ * The commands are built directly from the schemas, without any reflection
+ *
+ * @see BinaryCommandLog
+ */
+public final class BinaryCommandReader implements Iterator<CommandInput>, Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int INITIAL_FRAME_SIZE = 256;
+    private static final int VARINT_BITS = 7;
+    private static final int VARINT_MASK = 0x7F;
+    private static final int VARINT_CONTINUE = 0x80;
+
+    private final DataInputStream in;
+    private final CommandType[] schemaTypes;
+    private final CommandField[][] schemaFields;
+    private final ArrayList<String> dictionary = new ArrayList<>();
+    private byte[] frame = new byte[INITIAL_FRAME_SIZE];
+    private int position;
+    private int previousTimestamp = 0;
+    private CommandInput nextCommand;
+
+    /**
+     * Opens a binary command log and reads its header
+     *
+     * @param file The file with the log
+     * @throws IOException if the file can't be read or isn't a binary command log
+     */
+    public BinaryCommandReader(final File file) throws IOException {
+        this(new FileInputStream(file));
+    }
+
+    /**
+     * Reads the header of a binary command log
+     *
+     * @param input The stream the log is read from
+     * @throws IOException if the stream can't be read or isn't a binary command log
+     */
+    public BinaryCommandReader(final InputStream input) throws IOException {
+        in = new DataInputStream(new BufferedInputStream(input, BUFFER_SIZE));
+        if (in.readInt() != BinaryCommandLog.MAGIC) {
+            throw new IOException("Not a binary command log");
+        }
+        int version = in.readUnsignedByte();
+        if (version != BinaryCommandLog.VERSION) {
+            throw new IOException("Unsupported binary command log version: " + version);
+        }
+        int schemaCount = (int) readStreamVarint();
+        schemaTypes = new CommandType[schemaCount];
+        schemaFields = new CommandField[schemaCount][];
+        for (int i = 0; i < schemaCount; i++) {
+            schemaTypes[i] = CommandType.valueOf(in.readUTF());
+            schemaFields[i] = new CommandField[(int) readStreamVarint()];
+            for (int j = 0; j < schemaFields[i].length; j++) {
+                schemaFields[i][j] = CommandField.valueOf(in.readUTF());
+            }
+        }
+        dictionary.add(null);
+    }
+
+    /**
+     * Checks if there are commands left in the log
+     *
+     * @return {@code true} if there is another command, {@code false} otherwise
+     * @throws UncheckedIOException if the log can't be read
+     */
+    @Override
+    public boolean hasNext() {
+        if (nextCommand == null) {
+            try {
+                nextCommand = readCommand();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return nextCommand != null;
+    }
+
+    /**
+     * Reads the next command from the log
+     *
+     * @return The command
+     * @throws NoSuchElementException if there are no commands left
+     * @throws UncheckedIOException   if the log can't be read
+     */
+    @Override
+    public CommandInput next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        CommandInput command = nextCommand;
+        nextCommand = null;
+        return command;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private CommandInput readCommand() throws IOException {
+        while (true) {
+            int kind = in.read();
+            if (kind == -1) {
+                return null;
+            }
+            readFrame((int) readStreamVarint());
+            switch (kind) {
+                case BinaryCommandLog.DICTIONARY_FRAME -> readDictionary();
+                case BinaryCommandLog.COMMAND_FRAME -> {
+                    return decodeCommand();
+                }
+                default -> throw new IOException("Unknown frame kind: " + kind);
+            }
+        }
+    }
+
+    private void readFrame(final int length) throws IOException {
+        if (frame.length < length) {
+            frame = new byte[Math.max(length, frame.length * 2)];
+        }
+        in.readFully(frame, 0, length);
+        position = 0;
+    }
+
+    private void readDictionary() {
+        int count = readInt32();
+        dictionary.ensureCapacity(dictionary.size() + count);
+        for (int i = 0; i < count; i++) {
+            int length = readInt32();
+            dictionary.add(new String(frame, position, length, StandardCharsets.UTF_8));
+            position += length;
+        }
+    }
+
+    private CommandInput decodeCommand() {
+        int schema = readInt32();
+        CommandInput command = new CommandInput();
+        command.setCommand(schemaTypes[schema]);
+        for (CommandField field : schemaFields[schema]) {
+            switch (field) {
+                case username -> command.setUsername(readString());
+                case timestamp -> {
+                    previousTimestamp += readInt();
+                    command.setTimestamp(previousTimestamp);
+                }
+                case type -> command.setType(readString());
+                case filters -> command.setFilters(readFilters());
+                case itemNumber -> command.setItemNumber(readInt());
+                case playlistId -> command.setPlaylistId(readInt());
+                case playlistName -> command.setPlaylistName(readString());
+                case seed -> command.setSeed(readInt());
+                case age -> command.setAge(readInt());
+                case city -> command.setCity(readString());
+                case name -> command.setName(readString());
+                case releaseYear -> command.setReleaseYear(readInt());
+                case description -> command.setDescription(readString());
+                case songs -> command.setSongs(readSongs());
+                case episodes -> command.setEpisodes(readEpisodes());
+                case date -> command.setDate(readString());
+                case price -> command.setPrice(readInt());
+                case nextPage -> command.setNextPage(readString());
+                case recommendationType -> command.setRecommendationType(readString());
+                default -> throw new IllegalStateException("Unexpected field: " + field);
+            }
+        }
+        return command;
+    }
+
+    private LinkedHashMap<Filters, Object> readFilters() {
+        int size = readInt32() - 1;
+        if (size < 0) {
+            return null;
+        }
+        LinkedHashMap<Filters, Object> filters = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            Filters filter = Filters.valueOf(readString());
+            filters.put(filter, readValue());
+        }
+        return filters;
+    }
+
+    private Object readValue() {
+        int tag = frame[position++];
+        return switch (tag) {
+            case BinaryCommandLog.NULL_VALUE -> null;
+            case BinaryCommandLog.STRING_VALUE -> readString();
+            case BinaryCommandLog.INT_VALUE -> readInt();
+            case BinaryCommandLog.LONG_VALUE -> BinaryCommandLog.unZigZag(readVarint());
+            case BinaryCommandLog.DOUBLE_VALUE -> Double.longBitsToDouble(readVarint());
+            case BinaryCommandLog.BOOLEAN_VALUE -> frame[position++] != 0;
+            case BinaryCommandLog.LIST_VALUE -> {
+                int size = readInt32();
+                ArrayList<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue());
+                }
+                yield list;
+            }
+            default -> throw new IllegalStateException("Unknown filter value tag: " + tag);
+        };
+    }
+
+    private ArrayList<SongInput> readSongs() {
+        int size = readInt32() - 1;
+        if (size < 0) {
+            return null;
+        }
+        ArrayList<SongInput> songs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            SongInput song = new SongInput();
+            song.setName(readString());
+            song.setDuration(readNullableInt());
+            song.setAlbum(readString());
+            song.setTags(readStrings());
+            song.setLyrics(readString());
+            song.setGenre(readString());
+            song.setReleaseYear(readNullableInt());
+            song.setArtist(readString());
+            songs.add(song);
+        }
+        return songs;
+    }
+
+    private ArrayList<EpisodeInput> readEpisodes() {
+        int size = readInt32() - 1;
+        if (size < 0) {
+            return null;
+        }
+        ArrayList<EpisodeInput> episodes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            EpisodeInput episode = new EpisodeInput();
+            episode.setName(readString());
+            episode.setDuration(readNullableInt());
+            episode.setDescription(readString());
+            episodes.add(episode);
+        }
+        return episodes;
+    }
+
+    private ArrayList<String> readStrings() {
+        int size = readInt32() - 1;
+        if (size < 0) {
+            return null;
+        }
+        ArrayList<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString());
+        }
+        return values;
+    }
+
+    private String readString() {
+        return dictionary.get(readInt32());
+    }
+
+    private int readInt() {
+        return (int) BinaryCommandLog.unZigZag(readVarint());
+    }
+
+    private Integer readNullableInt() {
+        long value = readVarint();
+        return value == 0 ? null : (int) BinaryCommandLog.unZigZag(value - 1);
+    }
+
+    private int readInt32() {
+        return (int) readVarint();
+    }
+
+    private long readVarint() {
+        long value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = frame[position++];
+            value |= (long) (current & VARINT_MASK) << shift;
+            shift += VARINT_BITS;
+        } while ((current & VARINT_CONTINUE) != 0);
+        return value;
+    }
+
+    private long readStreamVarint() throws IOException {
+        long value = 0;
+        int shift = 0;
+        int current;
+        do {
+            current = in.read();
+            if (current == -1) {
+                throw new EOFException("Truncated binary command log");
+            }
+            value |= (long) (current & VARINT_MASK) << shift;
+            shift += VARINT_BITS;
+        } while ((current & VARINT_CONTINUE) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,261 @@
+package fileio.binary;
+
+import commands.CommandType;
+import commands.normalUser.searchBar.filter.Filters;
+import fileio.input.CommandInput;
+import fileio.input.EpisodeInput;
+import fileio.input.SongInput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes commands to a binary command log
+ *
+ * @see BinaryCommandLog
+ */
+public final class BinaryCommandWriter implements Closeable {
+    private static final int VARINT_BITS = 7;
+    private static final int VARINT_MASK = 0x7F;
+    private static final int VARINT_CONTINUE = 0x80;
+
+    private final DataOutputStream out;
+    private final EnumMap<CommandType, CommandField[]> schemas = new EnumMap<>(CommandType.class);
+    private final EnumMap<CommandType, Integer> schemaIndexes = new EnumMap<>(CommandType.class);
+    private final HashMap<String, Integer> dictionary = new HashMap<>();
+    private final List<String> newStrings = new ArrayList<>();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream strings = new ByteArrayOutputStream();
+    private int previousTimestamp = 0;
+
+    /**
+     * Creates a writer and writes the header of the log
+     *
+     * @param output  The stream the log is written to
+     * @param schemas The fields stored for every command type that can be written
+     * @throws IOException if the header can't be written
+     */
+    public BinaryCommandWriter(final OutputStream output,
+                               final Map<CommandType, ? extends Set<CommandField>> schemas)
+            throws IOException {
+        this.out = new DataOutputStream(output);
+        out.writeInt(BinaryCommandLog.MAGIC);
+        out.writeByte(BinaryCommandLog.VERSION);
+        writeVarint(out, schemas.size());
+        for (Map.Entry<CommandType, ? extends Set<CommandField>> schema : schemas.entrySet()) {
+            EnumSet<CommandField> orderedFields = EnumSet.noneOf(CommandField.class);
+            orderedFields.addAll(schema.getValue());
+            CommandField[] fields = orderedFields.toArray(new CommandField[0]);
+            schemaIndexes.put(schema.getKey(), this.schemas.size());
+            this.schemas.put(schema.getKey(), fields);
+            out.writeUTF(schema.getKey().name());
+            writeVarint(out, fields.length);
+            for (CommandField field : fields) {
+                out.writeUTF(field.name());
+            }
+        }
+    }
+
+    /**
+     * Writes a command, together with the strings it adds to the dictionary
+     *
+     * @param command The command to be written
+     * @throws IOException if the command can't be written
+     * @throws IllegalArgumentException if the log has no schema for the command type
+     */
+    public void write(final CommandInput command) throws IOException {
+        CommandField[] fields = schemas.get(command.getCommand());
+        if (fields == null) {
+            throw new IllegalArgumentException("No schema for command type: "
+                    + command.getCommand());
+        }
+        body.reset();
+        writeVarint(body, schemaIndexes.get(command.getCommand()));
+        for (CommandField field : fields) {
+            writeField(field, command);
+        }
+        if (!newStrings.isEmpty()) {
+            writeDictionaryFrame();
+        }
+        writeFrame(BinaryCommandLog.COMMAND_FRAME, body);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeField(final CommandField field, final CommandInput command)
+            throws IOException {
+        switch (field) {
+            case username -> writeString(command.getUsername());
+            case timestamp -> {
+                writeInt(command.getTimestamp() - previousTimestamp);
+                previousTimestamp = command.getTimestamp();
+            }
+            case type -> writeString(command.getType());
+            case filters -> writeFilters(command.getFilters());
+            case itemNumber -> writeInt(command.getItemNumber());
+            case playlistId -> writeInt(command.getPlaylistId());
+            case playlistName -> writeString(command.getPlaylistName());
+            case seed -> writeInt(command.getSeed());
+            case age -> writeInt(command.getAge());
+            case city -> writeString(command.getCity());
+            case name -> writeString(command.getName());
+            case releaseYear -> writeInt(command.getReleaseYear());
+            case description -> writeString(command.getDescription());
+            case songs -> writeSongs(command.getSongs());
+            case episodes -> writeEpisodes(command.getEpisodes());
+            case date -> writeString(command.getDate());
+            case price -> writeInt(command.getPrice());
+            case nextPage -> writeString(command.getNextPage());
+            case recommendationType -> writeString(command.getRecommendationType());
+            default -> throw new IllegalStateException("Unexpected field: " + field);
+        }
+    }
+
+    private void writeFilters(final Map<Filters, Object> filters) throws IOException {
+        if (filters == null) {
+            writeVarint(body, 0);
+            return;
+        }
+        writeVarint(body, filters.size() + 1);
+        for (Map.Entry<Filters, Object> filter : filters.entrySet()) {
+            writeString(filter.getKey().name());
+            writeValue(filter.getValue());
+        }
+    }
+
+    private void writeValue(final Object value) throws IOException {
+        if (value == null) {
+            body.write(BinaryCommandLog.NULL_VALUE);
+        } else if (value instanceof String string) {
+            body.write(BinaryCommandLog.STRING_VALUE);
+            writeString(string);
+        } else if (value instanceof Integer number) {
+            body.write(BinaryCommandLog.INT_VALUE);
+            writeInt(number);
+        } else if (value instanceof Long number) {
+            body.write(BinaryCommandLog.LONG_VALUE);
+            writeVarint(body, BinaryCommandLog.zigZag(number));
+        } else if (value instanceof Double number) {
+            body.write(BinaryCommandLog.DOUBLE_VALUE);
+            writeVarint(body, Double.doubleToRawLongBits(number));
+        } else if (value instanceof Boolean bool) {
+            body.write(BinaryCommandLog.BOOLEAN_VALUE);
+            body.write(bool ? 1 : 0);
+        } else if (value instanceof List<?> list) {
+            body.write(BinaryCommandLog.LIST_VALUE);
+            writeVarint(body, list.size());
+            for (Object element : list) {
+                writeValue(element);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported filter value: " + value);
+        }
+    }
+
+    private void writeSongs(final List<SongInput> songs) throws IOException {
+        if (songs == null) {
+            writeVarint(body, 0);
+            return;
+        }
+        writeVarint(body, songs.size() + 1);
+        for (SongInput song : songs) {
+            writeString(song.getName());
+            writeNullableInt(song.getDuration());
+            writeString(song.getAlbum());
+            writeStrings(song.getTags());
+            writeString(song.getLyrics());
+            writeString(song.getGenre());
+            writeNullableInt(song.getReleaseYear());
+            writeString(song.getArtist());
+        }
+    }
+
+    private void writeEpisodes(final List<EpisodeInput> episodes) throws IOException {
+        if (episodes == null) {
+            writeVarint(body, 0);
+            return;
+        }
+        writeVarint(body, episodes.size() + 1);
+        for (EpisodeInput episode : episodes) {
+            writeString(episode.getName());
+            writeNullableInt(episode.getDuration());
+            writeString(episode.getDescription());
+        }
+    }
+
+    private void writeStrings(final List<String> values) throws IOException {
+        if (values == null) {
+            writeVarint(body, 0);
+            return;
+        }
+        writeVarint(body, values.size() + 1);
+        for (String value : values) {
+            writeString(value);
+        }
+    }
+
+    private void writeString(final String value) throws IOException {
+        if (value == null) {
+            writeVarint(body, BinaryCommandLog.NULL_STRING);
+            return;
+        }
+        Integer reference = dictionary.get(value);
+        if (reference == null) {
+            reference = dictionary.size() + 1;
+            dictionary.put(value, reference);
+            newStrings.add(value);
+        }
+        writeVarint(body, reference);
+    }
+
+    private void writeInt(final int value) throws IOException {
+        writeVarint(body, BinaryCommandLog.zigZag(value));
+    }
+
+    private void writeNullableInt(final Integer value) throws IOException {
+        writeVarint(body, value == null ? 0 : BinaryCommandLog.zigZag(value) + 1);
+    }
+
+    private void writeDictionaryFrame() throws IOException {
+        strings.reset();
+        writeVarint(strings, newStrings.size());
+        for (String value : newStrings) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(strings, bytes.length);
+            strings.write(bytes);
+        }
+        newStrings.clear();
+        writeFrame(BinaryCommandLog.DICTIONARY_FRAME, strings);
+    }
+
+    private void writeFrame(final int kind, final ByteArrayOutputStream payload)
+            throws IOException {
+        out.writeByte(kind);
+        writeVarint(out, payload.size());
+        payload.writeTo(out);
+    }
+
+    private static void writeVarint(final OutputStream stream, final long value)
+            throws IOException {
+        long remaining = value;
+        while ((remaining & ~VARINT_MASK) != 0) {
+            stream.write((int) (remaining & VARINT_MASK) | VARINT_CONTINUE);
+            remaining >>>= VARINT_BITS;
+        }
+        stream.write((int) remaining);
+    }
+}
@@ -0,0 +1,12 @@
+package fileio.binary;
+
+/**
+ * The fields of a command that can be stored in a binary command log
+ * The schema of every command type lists the fields stored for it, in this order
+ *
+ * @see fileio.input.CommandInput
+ */
+public enum CommandField {
+    username, timestamp, type, filters, itemNumber, playlistId, playlistName, seed, age, city,
+    name, releaseYear, description, songs, episodes, date, price, nextPage, recommendationType
+}
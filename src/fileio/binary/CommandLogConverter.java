@@ -0,0 +1,117 @@
+package fileio.binary;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import commands.CommandType;
+import fileio.input.CommandInput;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.EnumSet;
+
+/**
+ * Converts JSON command files to binary command logs
+ * The schema of every command type contains the fields set by at least one of its commands
+ * The JSON file is streamed twice, one command at a time: once to find the schemas,
+ * which the log starts with, and once to write the commands, so it's never held in memory
+ *
+ * @see BinaryCommandLog
+ */
+public final class CommandLogConverter {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private CommandLogConverter() {
+    }
+
+    /**
+     * Converts a JSON command file to a binary command log
+     *
+     * @param args The path of the JSON file and the path of the binary log
+     * @throws IOException if the files can't be read or written
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CommandLogConverter <input.json> <output"
+                    + BinaryCommandLog.EXTENSION + ">");
+            return;
+        }
+        convert(new File(args[0]), new File(args[1]));
+    }
+
+    /**
+     * Converts a JSON command file to a binary command log
+     *
+     * @param jsonFile   The file with the commands, as a JSON array
+     * @param binaryFile The file the binary log is written to
+     * @throws IOException if the files can't be read or written
+     */
+    public static void convert(final File jsonFile, final File binaryFile) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        ObjectReader reader = objectMapper.readerFor(CommandInput.class);
+        EnumMap<CommandType, EnumSet<CommandField>> schemas;
+        try (MappingIterator<CommandInput> commands = reader.readValues(jsonFile)) {
+            schemas = inferSchemas(commands);
+        }
+        try (MappingIterator<CommandInput> commands = reader.readValues(jsonFile);
+             BinaryCommandWriter writer = new BinaryCommandWriter(
+                     new BufferedOutputStream(new FileOutputStream(binaryFile), BUFFER_SIZE),
+                     schemas)) {
+            while (commands.hasNextValue()) {
+                writer.write(commands.nextValue());
+            }
+        }
+    }
+
+    /**
+     * Finds the fields that have to be stored for every command type
+     *
+     * @param commands The commands that will be written, read one at a time
+     * @return The fields set by at least one command of every type
+     * @throws IOException if the commands can't be read
+     */
+    public static EnumMap<CommandType, EnumSet<CommandField>> inferSchemas(
+            final MappingIterator<CommandInput> commands) throws IOException {
+        EnumMap<CommandType, EnumSet<CommandField>> schemas = new EnumMap<>(CommandType.class);
+        while (commands.hasNextValue()) {
+            CommandInput command = commands.nextValue();
+            EnumSet<CommandField> schema = schemas.computeIfAbsent(command.getCommand(),
+                    commandType -> EnumSet.of(CommandField.timestamp));
+            for (CommandField field : CommandField.values()) {
+                if (isSet(field, command)) {
+                    schema.add(field);
+                }
+            }
+        }
+        return schemas;
+    }
+
+    private static boolean isSet(final CommandField field, final CommandInput command) {
+        return switch (field) {
+            case username -> command.getUsername() != null;
+            case timestamp -> true;
+            case type -> command.getType() != null;
+            case filters -> command.getFilters() != null;
+            case itemNumber -> command.getItemNumber() != 0;
+            case playlistId -> command.getPlaylistId() != 0;
+            case playlistName -> command.getPlaylistName() != null;
+            case seed -> command.getSeed() != 0;
+            case age -> command.getAge() != 0;
+            case city -> command.getCity() != null;
+            case name -> command.getName() != null;
+            case releaseYear -> command.getReleaseYear() != 0;
+            case description -> command.getDescription() != null;
+            case songs -> command.getSongs() != null;
+            case episodes -> command.getEpisodes() != null;
+            case date -> command.getDate() != null;
+            case price -> command.getPrice() != 0;
+            case nextPage -> command.getNextPage() != null;
+            case recommendationType -> command.getRecommendationType() != null;
+        };
+    }
+}
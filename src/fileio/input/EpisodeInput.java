@@ -1,6 +1,10 @@
 package fileio.input;
 
-public final class EpisodeInput {
+import java.io.Serializable;
+
+public final class EpisodeInput implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String name;
     private Integer duration;
     private String description;
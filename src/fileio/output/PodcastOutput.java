@@ -4,7 +4,6 @@ import entities.audio.Episode;
 import entities.audio.collections.Podcast;
 import lombok.Getter;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -16,7 +15,7 @@ public final class PodcastOutput {
     private List<String> episodeNames;
 
     private PodcastOutput(final String name,
-                          final ArrayList<Episode> episodes) {
+                          final List<Episode> episodes) {
 
         this.name = name;
         this.episodeNames = episodes.stream().map(Episode::getName).toList();
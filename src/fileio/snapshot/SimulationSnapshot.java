@@ -0,0 +1,124 @@
+package fileio.snapshot;
+
+import entities.EntityIds;
+import libraries.audio.AlbumsLibrary;
+import libraries.audio.PlaylistsLibrary;
+import libraries.audio.PodcastsLibrary;
+import libraries.audio.SongsLibrary;
+import libraries.users.ArtistsLibrary;
+import libraries.users.HostsLibrary;
+import libraries.users.NormalUsersLibrary;
+import managers.TimeManager;
+import managers.normalUser.PlayerManager;
+import notifications.NotificationEvent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The complete state of the simulation at a moment in time
+ * The state is reached from the libraries and the clock: every user's app, player and
+ * listen trackers are part of it, together with the counters used to generate ids
+ * The snapshot is written with Java serialization, compressed with deflate, so it can
+ * only be loaded by the same build that wrote it
+ * The entities are written one at a time, after everything else (see {@link SnapshotWriter}),
+ * so saving and loading don't need a deep stack however the users are linked
+ */
+public final class SimulationSnapshot implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final String SAVE_PROPERTY = "snapshot.save";
+    public static final String AT_PROPERTY = "snapshot.at";
+    public static final String RESUME_PROPERTY = "snapshot.resume";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final int timestamp;
+    private final SongsLibrary songs;
+    private final PodcastsLibrary podcasts;
+    private final PlaylistsLibrary playlists;
+    private final AlbumsLibrary albums;
+    private final NormalUsersLibrary normalUsers;
+    private final ArtistsLibrary artists;
+    private final HostsLibrary hosts;
+    private final TimeManager timeManager;
+    private final int adDuration;
+    private final long nextEntityId;
+    private final long nextNotificationSequence;
+
+    private SimulationSnapshot() {
+        timeManager = TimeManager.getInstance();
+        timestamp = timeManager.getTime();
+        songs = SongsLibrary.getInstance();
+        podcasts = PodcastsLibrary.getInstance();
+        playlists = PlaylistsLibrary.getInstance();
+        albums = AlbumsLibrary.getInstance();
+        normalUsers = NormalUsersLibrary.getInstance();
+        artists = ArtistsLibrary.getInstance();
+        hosts = HostsLibrary.getInstance();
+        adDuration = SongsLibrary.getAdDuration();
+        nextEntityId = EntityIds.peek();
+        nextNotificationSequence = NotificationEvent.peekSequence();
+    }
+
+    /**
+     * Writes the current state of the simulation to a file
+     *
+     * @param file The file the snapshot is written to
+     * @throws IOException if the snapshot can't be written
+     */
+    public static void save(final File file) throws IOException {
+        SimulationSnapshot snapshot = new SimulationSnapshot();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (SnapshotWriter out = new SnapshotWriter(new DeflaterOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE),
+                deflater, BUFFER_SIZE))) {
+            out.writeObject(snapshot);
+            out.writeBodies();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Replaces the state of the simulation with the one from a snapshot
+     *
+     * @param file The file with the snapshot
+     * @return The timestamp at which the snapshot was taken
+     * @throws IOException if the snapshot can't be read
+     */
+    public static int load(final File file) throws IOException {
+        PlayerManager.resetLoadStates();
+        SimulationSnapshot snapshot;
+        try (SnapshotReader in = new SnapshotReader(new InflaterInputStream(
+                new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE)))) {
+            snapshot = (SimulationSnapshot) in.readObject();
+            in.readBodies();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Not a snapshot of this build: " + file, e);
+        }
+        snapshot.restore();
+        return snapshot.timestamp;
+    }
+
+    private void restore() {
+        SongsLibrary.restoreInstance(songs);
+        PodcastsLibrary.restoreInstance(podcasts);
+        PlaylistsLibrary.restoreInstance(playlists);
+        AlbumsLibrary.restoreInstance(albums);
+        NormalUsersLibrary.restoreInstance(normalUsers);
+        ArtistsLibrary.restoreInstance(artists);
+        HostsLibrary.restoreInstance(hosts);
+        TimeManager.restoreInstance(timeManager);
+        SongsLibrary.setAdDuration(adDuration);
+        EntityIds.restore(nextEntityId);
+        NotificationEvent.restoreSequence(nextNotificationSequence);
+    }
+}
@@ -0,0 +1,104 @@
+package fileio.snapshot;
+
+import entities.IdentifiableEntity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Reads a snapshot written by a {@link SnapshotWriter}
+ * Entities are first read as shells, holding only their ids, so they can already be
+ * referred to and hashed; once the rest of the snapshot was read, the fields of every
+ * entity are read into a copy of it and moved into its shell
+ */
+public final class SnapshotReader extends ObjectInputStream {
+    private final ArrayList<IdentifiableEntity> shells = new ArrayList<>();
+    private final Set<IdentifiableEntity> shellSet =
+            Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public SnapshotReader(final InputStream in) throws IOException {
+        super(in);
+    }
+
+    /**
+     * Checks if the fields an entity's class declares were left for later
+     * Called by every class of the entity that reads its fields, before reading them;
+     * when the stream isn't a snapshot, the fields are always read
+     *
+     * @param in     The stream the entity is read from
+     * @param entity The entity
+     * @return {@code true} if the fields must not be read now
+     * @throws IOException if the stream can't be read
+     */
+    public static boolean defers(final ObjectInputStream in, final IdentifiableEntity entity)
+            throws IOException {
+        if (!(in instanceof SnapshotReader reader)) {
+            return false;
+        }
+        boolean shell = reader.readBoolean();
+        if (shell && reader.shellSet.add(entity)) {
+            reader.shells.add(entity);
+        }
+        return shell;
+    }
+
+    /**
+     * Reads the fields of all the entities read as shells, in the order they were written
+     *
+     * @throws IOException            if the stream can't be read
+     * @throws ClassNotFoundException if the class of an object can't be found
+     */
+    public void readBodies() throws IOException, ClassNotFoundException {
+        int next = 0;
+        while (readBoolean()) {
+            if (next == shells.size()) {
+                throw new InvalidObjectException("Entity without a shell");
+            }
+            IdentifiableEntity shell = shells.get(next++);
+            Object body = readUnshared();
+            if (body.getClass() != shell.getClass()) {
+                throw new InvalidObjectException("Entity of another class than its shell");
+            }
+            moveFields(body, shell);
+        }
+        if (next != shells.size()) {
+            throw new InvalidObjectException("Entity shells without fields");
+        }
+        shells.clear();
+        shellSet.clear();
+    }
+
+    /**
+     * Moves the serialized fields of an entity's copy into the entity
+     * The transient fields of the entity were already set up while its shell was read
+     */
+    private static void moveFields(final Object from, final Object to) throws IOException {
+        for (Class<?> type = from.getClass(); Serializable.class.isAssignableFrom(type);
+                type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    field.set(to, field.get(from));
+                } catch (IllegalAccessException | RuntimeException e) {
+                    InvalidObjectException failure =
+                            new InvalidObjectException("Can't restore " + field);
+                    failure.initCause(e);
+                    throw failure;
+                }
+            }
+        }
+    }
+}
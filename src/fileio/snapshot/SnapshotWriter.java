@@ -0,0 +1,68 @@
+package fileio.snapshot;
+
+import entities.IdentifiableEntity;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+
+/**
+ * Writes a snapshot without recursing from an entity into the entities it refers to
+ * Users, songs, episodes and collections refer to each other (likers, followers, fans,
+ * subscribers, players), so writing them the usual way would recurse along those links
+ * An entity is written as a shell, holding only its id, where it's first reached;
+ * its fields are written after the rest of the snapshot, one entity at a time,
+ * so the depth of the stream stays bounded by the size of a single entity
+ *
+ * @see SnapshotReader
+ */
+public final class SnapshotWriter extends ObjectOutputStream {
+    private final IdentityHashMap<IdentifiableEntity, Boolean> shells = new IdentityHashMap<>();
+    private final ArrayDeque<IdentifiableEntity> pending = new ArrayDeque<>();
+    private IdentifiableEntity body;
+
+    public SnapshotWriter(final OutputStream out) throws IOException {
+        super(out);
+    }
+
+    /**
+     * Checks if the fields an entity's class declares are left for later
+     * Called by every class of the entity that writes its fields, before writing them;
+     * when the stream isn't a snapshot, the fields are always written
+     *
+     * @param out    The stream the entity is written to
+     * @param entity The entity
+     * @return {@code true} if the fields must not be written now
+     * @throws IOException if the stream can't be written
+     */
+    public static boolean defers(final ObjectOutputStream out, final IdentifiableEntity entity)
+            throws IOException {
+        if (!(out instanceof SnapshotWriter writer)) {
+            return false;
+        }
+        boolean shell = entity != writer.body;
+        if (shell && writer.shells.put(entity, Boolean.TRUE) == null) {
+            writer.pending.add(entity);
+        }
+        writer.writeBoolean(shell);
+        return shell;
+    }
+
+    /**
+     * Writes the fields of all the entities written as shells so far, in the order
+     * their shells were written, including those of the entities they reach
+     *
+     * @throws IOException if the stream can't be written
+     */
+    public void writeBodies() throws IOException {
+        while (!pending.isEmpty()) {
+            body = pending.poll();
+            writeBoolean(true);
+            writeUnshared(body);
+        }
+        body = null;
+        writeBoolean(false);
+    }
+}
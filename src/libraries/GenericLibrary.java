@@ -1,18 +1,35 @@
 package libraries;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
-public class GenericLibrary<E> {
-    private ArrayList<E> items;
+/**
+ * Library of songs, podcasts, playlists, albums or users
+ * The items are kept copy-on-write: every change publishes a new list, so readers on
+ * any thread can go through the items without locking and never see a change halfway
+ * Changes are serialized on the library
+ * This suits the catalogs, which rarely change; libraries whose items change often
+ * extend {@link LockedLibrary} instead
+ *
+ * @param <E> The class of the items
+ */
+public class GenericLibrary<E> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private volatile ArrayList<E> items;
 
     protected GenericLibrary() { }
 
     /**
      * Gets the items in the library: songs, podcasts or playlists
+     * The list is a snapshot of the library, which must not be modified
      *
      * @return the items' list
      */
-    public ArrayList<E> getItems() {
+    public List<E> getItems() {
         return items;
     }
 
@@ -21,7 +38,7 @@ public class GenericLibrary<E> {
      *
      * @param items The list of items to be set
      */
-    public void setItems(final ArrayList<E> items) {
+    public synchronized void setItems(final ArrayList<E> items) {
         this.items = items;
     }
 
@@ -30,19 +47,45 @@ public class GenericLibrary<E> {
      * It initialises the library's elements' list if needed
      * @param item The item to be added
      */
-    public void addItem(final E item) {
-        if (items == null) {
-            items = new ArrayList<>();
-        }
-            items.add(item);
+    public synchronized void addItem(final E item) {
+        ArrayList<E> updated = items == null ? new ArrayList<>() : new ArrayList<>(items);
+        updated.add(item);
+        items = updated;
+    }
+
+    /**
+     * Adds the specified items to the library, copying its items only once
+     * It initialises the library's elements' list if needed
+     * @param itemsToAdd The items to be added
+     */
+    public synchronized void addItems(final Collection<E> itemsToAdd) {
+        ArrayList<E> updated = items == null ? new ArrayList<>() : new ArrayList<>(items);
+        updated.addAll(itemsToAdd);
+        items = updated;
     }
 
     /**
      * Removes the specified item from the library
      * @param item The item to be removed
      */
-    public void removeItem(final E item) {
-        items.remove(item);
+    public synchronized void removeItem(final E item) {
+        ArrayList<E> updated = new ArrayList<>(items);
+        if (updated.remove(item)) {
+            items = updated;
+        }
+    }
+
+    /**
+     * Removes all the specified items from the library, in a single pass over its items
+     * @param itemsToRemove The items to be removed
+     */
+    public synchronized void removeItems(final Set<E> itemsToRemove) {
+        if (items != null && !itemsToRemove.isEmpty()) {
+            ArrayList<E> updated = new ArrayList<>(items);
+            if (updated.removeIf(itemsToRemove::contains)) {
+                items = updated;
+            }
+        }
     }
 
     /**
@@ -0,0 +1,273 @@
+package libraries;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Library whose items change often: users and playlists
+ * Every change publishes an immutable snapshot of the items, so reading them is a single
+ * volatile read, on any thread
+ * The snapshots share an array that is only ever appended to: adding an item publishes
+ * a snapshot one item longer, without copying the items, and the older snapshots never look
+ * past their own size; removing items copies the remaining ones into a new array
+ * The changes are serialized by a stamped lock, which also guards the indexes the subclass
+ * keeps over the items
+ *
+ * @param <E> The class of the items
+ */
+public abstract class LockedLibrary<E> extends GenericLibrary<E> {
+    private static final long serialVersionUID = 1L;
+
+    private transient StampedLock lock = new StampedLock();
+    private volatile Snapshot<E> items;
+
+    protected LockedLibrary() { }
+
+    private void readObject(final ObjectInputStream in) throws IOException,
+            ClassNotFoundException {
+        in.defaultReadObject();
+        lock = new StampedLock();
+    }
+
+    /**
+     * Gets a snapshot of the items in the library, which can't be modified
+     *
+     * @return the items' list
+     */
+    @Override
+    public List<E> getItems() {
+        return items;
+    }
+
+    /**
+     * Sets the items in the library and rebuilds the indexes
+     *
+     * @param newItems The list of items to be set
+     */
+    @Override
+    public void setItems(final ArrayList<E> newItems) {
+        write(() -> {
+            items = newItems == null ? null : Snapshot.<E>empty().withAll(newItems);
+            clearIndexes();
+            if (newItems != null) {
+                newItems.forEach(this::index);
+            }
+        });
+    }
+
+    /**
+     * Adds the specified item to the library and to the indexes
+     * It initialises the library's elements' list if needed
+     * @param item The item to be added
+     */
+    @Override
+    public void addItem(final E item) {
+        write(() -> {
+            items = (items == null ? Snapshot.<E>empty() : items).with(item);
+            index(item);
+        });
+    }
+
+    /**
+     * Adds the specified items to the library and to the indexes
+     * It initialises the library's elements' list if needed
+     * @param itemsToAdd The items to be added
+     */
+    @Override
+    public void addItems(final Collection<E> itemsToAdd) {
+        write(() -> {
+            items = (items == null ? Snapshot.<E>empty() : items).withAll(itemsToAdd);
+            itemsToAdd.forEach(this::index);
+        });
+    }
+
+    /**
+     * Removes the specified item from the library and from the indexes
+     * @param item The item to be removed
+     */
+    @Override
+    public void removeItem(final E item) {
+        write(() -> {
+            if (items != null && items.contains(item)) {
+                items = items.without(Set.of(item)::contains);
+                unindex(item);
+            }
+        });
+    }
+
+    /**
+     * Removes all the specified items from the library, in a single pass over its items
+     * @param itemsToRemove The items to be removed
+     */
+    @Override
+    public void removeItems(final Set<E> itemsToRemove) {
+        write(() -> {
+            if (items != null && !itemsToRemove.isEmpty()) {
+                Snapshot<E> remaining = items.without(itemsToRemove::contains);
+                if (remaining.size() != items.size()) {
+                    items = remaining;
+                    unindexAll(itemsToRemove);
+                }
+            }
+        });
+    }
+
+    @Override
+    public ArrayList<E> copyItemsList() {
+        return new ArrayList<>(items);
+    }
+
+    /**
+     * Reads the indexes while holding the read lock
+     *
+     * @param reader Reads the indexes, without changing the library
+     * @param <T>    The type of the result
+     * @return The result of the reader
+     */
+    protected final <T> T read(final Supplier<T> reader) {
+        long stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Changes the items or the indexes while holding the write lock
+     *
+     * @param writer Changes the library
+     */
+    protected final void write(final Runnable writer) {
+        long stamp = lock.writeLock();
+        try {
+            writer.run();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Checks if the items of the library were set, while holding the lock
+     *
+     * @return {@code true} if the library has an items' list
+     */
+    protected final boolean hasItems() {
+        return items != null;
+    }
+
+    /**
+     * Removes all the items from the indexes, while holding the write lock
+     */
+    protected abstract void clearIndexes();
+
+    /**
+     * Adds an item to the indexes, while holding the write lock
+     *
+     * @param item The item added to the library
+     */
+    protected abstract void index(E item);
+
+    /**
+     * Removes an item from the indexes, while holding the write lock
+     *
+     * @param item The item removed from the library
+     */
+    protected abstract void unindex(E item);
+
+    /**
+     * Removes some items from the indexes, while holding the write lock
+     *
+     * @param removedItems The items removed from the library
+     */
+    protected void unindexAll(final Set<E> removedItems) {
+        removedItems.forEach(this::unindex);
+    }
+
+    /**
+     * An immutable view over the first items of an array that is only appended to
+     *
+     * @param <E> The class of the items
+     */
+    private static final class Snapshot<E> extends AbstractList<E>
+            implements RandomAccess, Serializable {
+        private static final long serialVersionUID = 1L;
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final Object[] elements;
+        private final int size;
+
+        private Snapshot(final Object[] elements, final int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        static <E> Snapshot<E> empty() {
+            return new Snapshot<>(new Object[INITIAL_CAPACITY], 0);
+        }
+
+        /**
+         * Appends an item after the items of this snapshot
+         * Must only be called on the latest snapshot, which owns the rest of the array
+         */
+        Snapshot<E> with(final E item) {
+            Object[] target = size < elements.length
+                    ? elements : Arrays.copyOf(elements, elements.length * 2);
+            target[size] = item;
+            return new Snapshot<>(target, size + 1);
+        }
+
+        /**
+         * Appends some items after the items of this snapshot
+         * Must only be called on the latest snapshot, which owns the rest of the array
+         */
+        Snapshot<E> withAll(final Collection<? extends E> added) {
+            int newSize = size + added.size();
+            Object[] target = newSize <= elements.length ? elements
+                    : Arrays.copyOf(elements, Math.max(newSize, elements.length * 2));
+            int position = size;
+            for (E item : added) {
+                target[position++] = item;
+            }
+            return new Snapshot<>(target, newSize);
+        }
+
+        /**
+         * Copies the items that aren't removed into a new array
+         */
+        Snapshot<E> without(final Predicate<Object> removed) {
+            Object[] target = new Object[Math.max(INITIAL_CAPACITY, elements.length)];
+            int newSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (!removed.test(elements[i])) {
+                    target[newSize++] = elements[i];
+                }
+            }
+            return new Snapshot<>(target, newSize);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(final int index) {
+            Objects.checkIndex(index, size);
+            return (E) elements[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
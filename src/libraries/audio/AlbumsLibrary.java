@@ -10,21 +10,31 @@ import java.util.Comparator;
 import java.util.List;
 
 public final class AlbumsLibrary extends GenericLibrary<Album> {
-    private static AlbumsLibrary instance = null;
+    private static final long serialVersionUID = 1L;
 
     private AlbumsLibrary() {
     }
 
+    private static final class InstanceHolder {
+        private static volatile AlbumsLibrary instance = new AlbumsLibrary();
+    }
+
     /**
      * Gets the instance for the singleton class
      *
      * @return The instance
      */
-    public static synchronized AlbumsLibrary getInstance() {
-        if (instance == null) {
-            instance = new AlbumsLibrary();
-        }
-        return instance;
+    public static AlbumsLibrary getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /**
+     * Replaces the instance with one restored from a snapshot
+     *
+     * @param restored The restored instance
+     */
+    public static void restoreInstance(final AlbumsLibrary restored) {
+        InstanceHolder.instance = restored;
     }
 
     /**
@@ -53,7 +63,7 @@ public final class AlbumsLibrary extends GenericLibrary<Album> {
      * @return The album
      */
     public Album getAlbumByName(final String albumName) {
-        ArrayList<Album> albums = getItems();
+        List<Album> albums = getItems();
         return albums.stream().filter(album -> album.getName().equals(albumName))
                 .findFirst()
                 .orElse(null);
@@ -0,0 +1,174 @@
+package libraries.audio;
+
+import entities.audio.Song;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Index over the songs library, grouped by genre
+ * Every genre bucket keeps its songs both in library order (for random access)
+ * and ordered by likes (ties are kept in library order)
+ * The index is guarded by the lock of the songs library
+ */
+final class GenreIndex implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final Comparator<RankedSong> BY_LIKES = (Comparator<RankedSong> & Serializable)
+            (first, second) -> first.likes() != second.likes()
+                    ? Integer.compare(first.likes(), second.likes())
+                    : Long.compare(first.sequence(), second.sequence());
+
+    private final Map<String, Bucket> buckets = new HashMap<>();
+    private final Map<Song, RankedSong> rankedSongs = new HashMap<>();
+    private long nextSequence = 0;
+
+    /**
+     * Removes all the songs from the index
+     */
+    void clear() {
+        buckets.clear();
+        rankedSongs.clear();
+        nextSequence = 0;
+    }
+
+    /**
+     * Adds a song at the end of its genre bucket
+     *
+     * @param song  The song to be indexed
+     * @param likes The likes count of the song
+     */
+    void add(final Song song, final int likes) {
+        RankedSong ranked = new RankedSong(song, likes, nextSequence++);
+        rankedSongs.put(song, ranked);
+        Bucket bucket = buckets.computeIfAbsent(keyOf(song.getGenre()), key -> new Bucket());
+        bucket.songs.add(song);
+        bucket.byLikes.add(ranked);
+    }
+
+    /**
+     * Removes a song from its genre bucket
+     *
+     * @param song The song to be removed
+     */
+    void remove(final Song song) {
+        RankedSong ranked = rankedSongs.remove(song);
+        if (ranked == null) {
+            return;
+        }
+        String key = keyOf(song.getGenre());
+        Bucket bucket = buckets.get(key);
+        bucket.songs.remove(song);
+        bucket.byLikes.remove(ranked);
+        if (bucket.songs.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+
+    /**
+     * Removes the specified songs from their genre buckets
+     * Every affected bucket is compacted only once
+     *
+     * @param songs The songs to be removed
+     */
+    void removeAll(final Set<Song> songs) {
+        HashSet<String> affectedKeys = new HashSet<>();
+        for (Song song : songs) {
+            RankedSong ranked = rankedSongs.remove(song);
+            if (ranked != null) {
+                String key = keyOf(song.getGenre());
+                buckets.get(key).byLikes.remove(ranked);
+                affectedKeys.add(key);
+            }
+        }
+        for (String key : affectedKeys) {
+            Bucket bucket = buckets.get(key);
+            bucket.songs.removeIf(songs::contains);
+            if (bucket.songs.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Moves a song to its new position after its likes count changed
+     * Songs that are not part of the library are ignored
+     *
+     * @param song  The song whose likes count changed
+     * @param likes The new likes count of the song
+     */
+    void updateLikes(final Song song, final int likes) {
+        RankedSong ranked = rankedSongs.get(song);
+        if (ranked == null || ranked.likes() == likes) {
+            return;
+        }
+        Bucket bucket = buckets.get(keyOf(song.getGenre()));
+        bucket.byLikes.remove(ranked);
+        RankedSong updated = new RankedSong(song, likes, ranked.sequence());
+        bucket.byLikes.add(updated);
+        rankedSongs.put(song, updated);
+    }
+
+    /**
+     * Gets the songs for the specified genre, in library order
+     *
+     * @param genre The genre (case-insensitive)
+     * @return An unmodifiable view over the songs of that genre
+     */
+    List<Song> songsForGenre(final String genre) {
+        Bucket bucket = buckets.get(keyOf(genre));
+        if (bucket == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(bucket.songs);
+    }
+
+    /**
+     * Iterates over the songs for the specified genre, from the least liked to the most liked
+     *
+     * @param genre The genre (case-insensitive)
+     * @return An iterator over the songs of that genre
+     */
+    Iterator<Song> songsForGenreByLikes(final String genre) {
+        Bucket bucket = buckets.get(keyOf(genre));
+        if (bucket == null) {
+            return Collections.emptyIterator();
+        }
+        Iterator<RankedSong> iterator = bucket.byLikes.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Song next() {
+                return iterator.next().song();
+            }
+        };
+    }
+
+    private static String keyOf(final String genre) {
+        return genre.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Bucket implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayList<Song> songs = new ArrayList<>();
+        private final TreeSet<RankedSong> byLikes = new TreeSet<>(BY_LIKES);
+    }
+
+    private record RankedSong(Song song, int likes, long sequence) implements Serializable {
+    }
+}
@@ -1,31 +1,123 @@
 package libraries.audio;
 
-import entities.audio.collections.Collection;
 import entities.audio.collections.Playlist;
-import commands.normalUser.searchBar.filter.filterAudio.filterCollections.FilterPlaylists;
-import libraries.GenericLibrary;
+import libraries.LockedLibrary;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
-public final class PlaylistsLibrary extends GenericLibrary<Playlist> {
-    private static PlaylistsLibrary instance = null;
+/**
+ * The library of playlists
+ * The playlists are also indexed by owner, and the public ones are kept in library order,
+ * both guarded by the lock of the library
+ */
+public final class PlaylistsLibrary extends LockedLibrary<Playlist> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Playlists are added to the library right after they are created,
+     * so their ids follow the library order
+     */
+    private static final Comparator<Playlist> LIBRARY_ORDER = (Comparator<Playlist> & Serializable)
+            (first, second) -> Long.compare(first.getId(), second.getId());
+    private final HashMap<String, List<Playlist>> playlistsByOwner = new HashMap<>();
+    private final TreeSet<Playlist> publicPlaylists = new TreeSet<>(LIBRARY_ORDER);
 
     private PlaylistsLibrary() {
     }
 
+    private static final class InstanceHolder {
+        private static volatile PlaylistsLibrary instance = new PlaylistsLibrary();
+    }
+
     /**
      * Gets the instance for the playlists library class (singleton pattern)
      * Initialize it if needed
      *
      * @return The library instance
      */
-    public static synchronized PlaylistsLibrary getInstance() {
-        if (instance == null) {
-            instance = new PlaylistsLibrary();
+    public static PlaylistsLibrary getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /**
+     * Replaces the instance with one restored from a snapshot
+     *
+     * @param restored The restored instance
+     */
+    public static void restoreInstance(final PlaylistsLibrary restored) {
+        InstanceHolder.instance = restored;
+    }
+
+    @Override
+    protected void clearIndexes() {
+        playlistsByOwner.clear();
+        publicPlaylists.clear();
+    }
+
+    @Override
+    protected void index(final Playlist playlist) {
+        playlistsByOwner.computeIfAbsent(playlist.getOwner(), owner -> new ArrayList<>())
+                .add(playlist);
+        if (!playlist.isPrivate()) {
+            publicPlaylists.add(playlist);
         }
-        return instance;
+    }
+
+    @Override
+    protected void unindex(final Playlist playlist) {
+        List<Playlist> ownedPlaylists = playlistsByOwner.get(playlist.getOwner());
+        if (ownedPlaylists != null && ownedPlaylists.remove(playlist)) {
+            if (ownedPlaylists.isEmpty()) {
+                playlistsByOwner.remove(playlist.getOwner());
+            }
+            publicPlaylists.remove(playlist);
+        }
+    }
+
+    @Override
+    protected void unindexAll(final Set<Playlist> playlists) {
+        HashSet<String> owners = new HashSet<>();
+        for (Playlist playlist : playlists) {
+            publicPlaylists.remove(playlist);
+            owners.add(playlist.getOwner());
+        }
+        for (String owner : owners) {
+            List<Playlist> ownedPlaylists = playlistsByOwner.get(owner);
+            if (ownedPlaylists != null) {
+                ownedPlaylists.removeIf(playlists::contains);
+                if (ownedPlaylists.isEmpty()) {
+                    playlistsByOwner.remove(owner);
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the set of public playlists after the visibility of a playlist was switched
+     * Playlists that are not part of the library are ignored
+     *
+     * @param playlist The playlist whose visibility changed
+     */
+    public void updateVisibility(final Playlist playlist) {
+        write(() -> {
+            List<Playlist> ownedPlaylists = playlistsByOwner.get(playlist.getOwner());
+            if (ownedPlaylists == null || !ownedPlaylists.contains(playlist)) {
+                return;
+            }
+            if (playlist.isPrivate()) {
+                publicPlaylists.remove(playlist);
+            } else {
+                publicPlaylists.add(playlist);
+            }
+        });
     }
 
     /**
@@ -44,14 +136,17 @@ public final class PlaylistsLibrary extends GenericLibrary<Playlist> {
      * @return {@code true} if the playlist already exists, {@code false} otherwise
      */
     public boolean playlistForUserExists(final String playlistName, final String username) {
-        if (getItems() == null) {
-            return false;
-        }
-        ArrayList<Playlist> playlistsForUser = (ArrayList<Playlist>) getPlaylistsForUser(username);
-        FilterPlaylists filterPlaylists = new FilterPlaylists(playlistsForUser);
-        ArrayList<Collection<?>> playlistsWithName =
-                filterPlaylists.byName(playlistName).getFilteredObjects();
-        return playlistsWithName.isEmpty();
+        return read(() -> {
+            if (!hasItems()) {
+                return false;
+            }
+            for (Playlist playlist : playlistsByOwner.getOrDefault(username, List.of())) {
+                if (playlist.nameStartsWith(playlistName)) {
+                    return false;
+                }
+            }
+            return true;
+        });
     }
 
     /**
@@ -60,22 +155,62 @@ public final class PlaylistsLibrary extends GenericLibrary<Playlist> {
      * @param username The entities.user for whose playlists we search
      * @return an array list with the entities.user's playlists
      */
-    public ArrayList<? extends Collection<?>> getPlaylistsForUser(final String username) {
-        if (getItems() == null) {
-            return null;
+    public ArrayList<Playlist> getPlaylistsForUser(final String username) {
+        return read(() -> hasItems()
+                ? new ArrayList<>(playlistsByOwner.getOrDefault(username, List.of())) : null);
+    }
+
+    /**
+     * Gets the playlists that the specified entities.user can see:
+     * all the public playlists and the private playlists owned by the entities.user
+     *
+     * @param username The entities.user that performs the action
+     * @return A list with the visible playlists, in library order
+     */
+    public ArrayList<Playlist> getPublicPlaylistsForUser(final String username) {
+        return read(() -> hasItems() ? mergePublicPlaylists(username) : null);
+    }
+
+    private ArrayList<Playlist> mergePublicPlaylists(final String username) {
+        ArrayList<Playlist> playlists = new ArrayList<>();
+        Iterator<Playlist> ownedPlaylists = playlistsByOwner.getOrDefault(username, List.of())
+                .stream().filter(Playlist::isPrivate).iterator();
+        Playlist nextOwned = ownedPlaylists.hasNext() ? ownedPlaylists.next() : null;
+        for (Playlist publicPlaylist : publicPlaylists) {
+            while (nextOwned != null && LIBRARY_ORDER.compare(nextOwned, publicPlaylist) < 0) {
+                playlists.add(nextOwned);
+                nextOwned = ownedPlaylists.hasNext() ? ownedPlaylists.next() : null;
+            }
+            playlists.add(publicPlaylist);
+        }
+        while (nextOwned != null) {
+            playlists.add(nextOwned);
+            nextOwned = ownedPlaylists.hasNext() ? ownedPlaylists.next() : null;
         }
-        FilterPlaylists filterPlaylists = new FilterPlaylists(getItems());
-        ArrayList<? extends Collection<?>> playlists =
-                filterPlaylists.byOwner(username).getFilteredObjects();
         return playlists;
     }
 
-    private ArrayList<? extends Collection<?>> getPublicPlaylistsForUser(final String username) {
-        if (getItems() == null) {
-            return null;
-        }
-        FilterPlaylists filterPlaylists = new FilterPlaylists(getItems());
-        return filterPlaylists.byVisibilityForUser(username).getFilteredObjects();
+    /**
+     * Gets the playlists of the specified owner that the specified entities.user can see
+     *
+     * @param owner    The owner of the playlists
+     * @param username The entities.user that performs the action
+     * @return A list with the visible playlists of the owner, in library order
+     */
+    public ArrayList<Playlist> getPublicPlaylistsOfOwner(final String owner,
+                                                         final String username) {
+        return read(() -> {
+            if (!hasItems()) {
+                return null;
+            }
+            ArrayList<Playlist> playlists = new ArrayList<>();
+            for (Playlist playlist : playlistsByOwner.getOrDefault(owner, List.of())) {
+                if (!playlist.isPrivate() || playlist.ownerIs(username)) {
+                    playlists.add(playlist);
+                }
+            }
+            return playlists;
+        });
     }
 
     /**
@@ -83,12 +218,8 @@ public final class PlaylistsLibrary extends GenericLibrary<Playlist> {
      *
      * @return A list of public playlists
      */
-    private ArrayList<? extends Collection<?>> getPublicPlaylists() {
-        if (getItems() == null) {
-            return null;
-        }
-        FilterPlaylists filterPlaylists = new FilterPlaylists(getItems());
-        return filterPlaylists.byVisibility().getFilteredObjects();
+    private ArrayList<Playlist> getPublicPlaylists() {
+        return read(() -> hasItems() ? new ArrayList<>(publicPlaylists) : null);
     }
 
     /**
@@ -112,8 +243,7 @@ public final class PlaylistsLibrary extends GenericLibrary<Playlist> {
      * @return The list of playlists with the most followers
      */
     public ArrayList<Playlist> getTopPlaylists(final int maxNumber) {
-        ArrayList<Playlist> publicPlaylists = (ArrayList<Playlist>) getPublicPlaylists();
-        ArrayList<Playlist> sortedPublicPlaylists = sortPlaylistsByFollowers(publicPlaylists);
+        ArrayList<Playlist> sortedPublicPlaylists = sortPlaylistsByFollowers(getPublicPlaylists());
         if (sortedPublicPlaylists != null) {
             if (sortedPublicPlaylists.size() > maxNumber) {
                 List<Playlist> firstPlaylists = sortedPublicPlaylists.subList(0, maxNumber);
@@ -4,22 +4,32 @@ import entities.audio.collections.Podcast;
 import libraries.GenericLibrary;
 
 public final class PodcastsLibrary extends GenericLibrary<Podcast> {
-    private static PodcastsLibrary instance = null;
+    private static final long serialVersionUID = 1L;
 
     private PodcastsLibrary() {
     }
 
+    private static final class InstanceHolder {
+        private static volatile PodcastsLibrary instance = new PodcastsLibrary();
+    }
+
     /**
      * Gets the instance for the podcasts' library class (singleton pattern)
      * Initialize it if needed
      *
      * @return The library instance
      */
-    public static synchronized PodcastsLibrary getInstance() {
-        if (instance == null) {
-            instance = new PodcastsLibrary();
-        }
-        return instance;
+    public static PodcastsLibrary getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /**
+     * Replaces the instance with one restored from a snapshot
+     *
+     * @param restored The restored instance
+     */
+    public static void restoreInstance(final PodcastsLibrary restored) {
+        InstanceHolder.instance = restored;
     }
 
     /**
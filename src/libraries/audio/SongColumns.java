@@ -0,0 +1,368 @@
+package libraries.audio;
+
+import entities.audio.Song;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Columnar view over the songs library
+ * Every song gets a dense row, in library order, and the attributes that songs are
+ * filtered and ranked by are kept in primitive columns, so filters and rankings
+ * scan arrays instead of going through the songs
+ * Genres, artists and albums are stored as symbols from their tables, genres case-folded,
+ * and the tags of every song as a set of tag symbols
+ * The likes column is where the likes counts of the songs are kept: songs read their
+ * count from it, and songs that are not part of the library have no likes
+ * Removed songs leave an empty row behind, until the rows are compacted:
+ * once the empty rows outnumber the songs
+ * The columns are guarded by the lock of the songs library
+ */
+final class SongColumns implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int INITIAL_CAPACITY = 64;
+    private Song[] songs = new Song[INITIAL_CAPACITY];
+    private int[] likes = new int[INITIAL_CAPACITY];
+    /**
+     * {@link Song#NO_RELEASE_YEAR} for the songs whose release year is not known
+     */
+    private int[] releaseYears = new int[INITIAL_CAPACITY];
+    private int[] genres = new int[INITIAL_CAPACITY];
+    private int[] artists = new int[INITIAL_CAPACITY];
+    private int[] albums = new int[INITIAL_CAPACITY];
+    private BitSet[] tags = new BitSet[INITIAL_CAPACITY];
+    private int end = 0;
+    private int emptyRows = 0;
+    /**
+     * Changes whenever rows are emptied or moved, so selections know their rows are stale
+     */
+    private long rowsVersion = 0;
+    private final HashMap<Song, Integer> rows = new HashMap<>();
+    private final SymbolTable genreSymbols = new SymbolTable(true);
+    private final SymbolTable artistSymbols = new SymbolTable(false);
+    private final SymbolTable albumSymbols = new SymbolTable(false);
+    private final SymbolTable tagSymbols = new SymbolTable(false);
+
+    /**
+     * Removes all the songs, keeping the symbol tables
+     */
+    void clear() {
+        Arrays.fill(songs, 0, end, null);
+        Arrays.fill(tags, 0, end, null);
+        rows.clear();
+        end = 0;
+        emptyRows = 0;
+        rowsVersion++;
+    }
+
+    /**
+     * Adds a song in a new row, after all the others
+     * The song starts with no likes
+     *
+     * @param song The song to be added
+     */
+    void add(final Song song) {
+        if (end == songs.length) {
+            int capacity = songs.length * 2;
+            songs = Arrays.copyOf(songs, capacity);
+            likes = Arrays.copyOf(likes, capacity);
+            releaseYears = Arrays.copyOf(releaseYears, capacity);
+            genres = Arrays.copyOf(genres, capacity);
+            artists = Arrays.copyOf(artists, capacity);
+            albums = Arrays.copyOf(albums, capacity);
+            tags = Arrays.copyOf(tags, capacity);
+        }
+        songs[end] = song;
+        likes[end] = 0;
+        releaseYears[end] = song.getReleaseYear();
+        genres[end] = genreSymbols.intern(song.getGenre());
+        artists[end] = artistSymbols.intern(song.getArtist());
+        albums[end] = albumSymbols.intern(song.getAlbum());
+        tags[end] = tagSet(song.getTags());
+        rows.put(song, end);
+        end++;
+    }
+
+    /**
+     * Removes a song, leaving its row empty
+     *
+     * @param song The song to be removed
+     */
+    void remove(final Song song) {
+        removeWithoutCompacting(song);
+        compactIfSparse();
+    }
+
+    /**
+     * Removes the specified songs, compacting the rows at most once
+     *
+     * @param removed The songs to be removed
+     */
+    void removeAll(final Set<Song> removed) {
+        removed.forEach(this::removeWithoutCompacting);
+        compactIfSparse();
+    }
+
+    /**
+     * Gets the version of the rows, which changes whenever rows are emptied or moved
+     *
+     * @return The version of the rows
+     */
+    long rowsVersion() {
+        return rowsVersion;
+    }
+
+    /**
+     * Gets the likes count of a song
+     *
+     * @param song The song
+     * @return The likes count, or 0 if the song is not part of the library
+     */
+    int likes(final Song song) {
+        Integer row = rows.get(song);
+        return row != null ? likes[row] : 0;
+    }
+
+    /**
+     * Changes the likes count of a song, without letting it go below 0
+     * Songs that are not part of the library are ignored
+     *
+     * @param song  The song that was liked or unliked
+     * @param delta The number of likes added, negative if likes were removed
+     * @return {@code true} if the likes count of the song changed
+     */
+    boolean addLikes(final Song song, final int delta) {
+        Integer row = rows.get(song);
+        if (row == null) {
+            return false;
+        }
+        int updated = Math.max(0, likes[row] + delta);
+        if (updated == likes[row]) {
+            return false;
+        }
+        likes[row] = updated;
+        return true;
+    }
+
+    /**
+     * Gets the most liked songs, ordered descending by likes
+     * Songs with the same number of likes are kept in library order
+     *
+     * @param count The maximum number of songs
+     * @return The most liked songs
+     */
+    ArrayList<Song> topByLikes(final int count) {
+        int[] best = new int[count];
+        int size = 0;
+        for (int row = 0; row < end; row++) {
+            if (songs[row] == null || (size == count && likes[row] <= likes[best[size - 1]])) {
+                continue;
+            }
+            int position = size == count ? size - 1 : size++;
+            while (position > 0 && likes[best[position - 1]] < likes[row]) {
+                best[position] = best[position - 1];
+                position--;
+            }
+            best[position] = row;
+        }
+        ArrayList<Song> top = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            top.add(songs[best[i]]);
+        }
+        return top;
+    }
+
+    /**
+     * Gets the rows that hold songs
+     *
+     * @return A new set with the rows of all the songs
+     */
+    BitSet songRows() {
+        BitSet selected = new BitSet(end);
+        for (int row = 0; row < end; row++) {
+            if (songs[row] != null) {
+                selected.set(row);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Keeps only the rows of the songs from the specified genre
+     *
+     * @param selected The rows to be narrowed down
+     * @param genre    The genre (case-insensitive)
+     */
+    void keepGenre(final BitSet selected, final String genre) {
+        keepSymbol(selected, genres, genreSymbols.symbolOf(genre));
+    }
+
+    /**
+     * Keeps only the rows of the songs created by the specified artist
+     *
+     * @param selected The rows to be narrowed down
+     * @param artist   The name of the artist
+     */
+    void keepArtist(final BitSet selected, final String artist) {
+        keepSymbol(selected, artists, artistSymbols.symbolOf(artist));
+    }
+
+    /**
+     * Keeps only the rows of the songs from the specified album
+     *
+     * @param selected The rows to be narrowed down
+     * @param album    The name of the album
+     */
+    void keepAlbum(final BitSet selected, final String album) {
+        keepSymbol(selected, albums, albumSymbols.symbolOf(album));
+    }
+
+    /**
+     * Keeps only the rows of the songs that have all the specified tags
+     *
+     * @param selected The rows to be narrowed down
+     * @param required The tags the songs must have
+     */
+    void keepTags(final BitSet selected, final List<String> required) {
+        BitSet requiredSymbols = new BitSet();
+        for (String tag : required) {
+            int symbol = tagSymbols.symbolOf(tag);
+            if (symbol == SymbolTable.ABSENT) {
+                selected.clear();
+                return;
+            }
+            requiredSymbols.set(symbol);
+        }
+        BitSet missing = new BitSet();
+        for (int row = selected.nextSetBit(0); row >= 0; row = selected.nextSetBit(row + 1)) {
+            missing.or(requiredSymbols);
+            missing.andNot(tags[row]);
+            if (!missing.isEmpty()) {
+                selected.clear(row);
+                missing.clear();
+            }
+        }
+    }
+
+    /**
+     * Keeps only the rows of the songs released before the specified year
+     * Songs whose release year is not known are left out
+     *
+     * @param selected The rows to be narrowed down
+     * @param year     The year the songs are compared with
+     */
+    void keepReleasedBefore(final BitSet selected, final int year) {
+        for (int row = 0; row < end; row++) {
+            if (releaseYears[row] == Song.NO_RELEASE_YEAR || releaseYears[row] >= year) {
+                selected.clear(row);
+            }
+        }
+    }
+
+    /**
+     * Keeps only the rows of the songs released after the specified year
+     * Songs whose release year is not known are left out
+     *
+     * @param selected The rows to be narrowed down
+     * @param year     The year the songs are compared with
+     */
+    void keepReleasedAfter(final BitSet selected, final int year) {
+        for (int row = 0; row < end; row++) {
+            if (releaseYears[row] == Song.NO_RELEASE_YEAR || releaseYears[row] <= year) {
+                selected.clear(row);
+            }
+        }
+    }
+
+    /**
+     * Keeps only the rows of the songs that match the predicate
+     *
+     * @param selected  The rows to be narrowed down
+     * @param predicate The condition checked for every selected song
+     */
+    void keepIf(final BitSet selected, final Predicate<Song> predicate) {
+        for (int row = selected.nextSetBit(0); row >= 0; row = selected.nextSetBit(row + 1)) {
+            if (!predicate.test(songs[row])) {
+                selected.clear(row);
+            }
+        }
+    }
+
+    /**
+     * Gets the songs in the specified rows, in library order
+     *
+     * @param selected The rows of the songs
+     * @return The list of songs
+     */
+    ArrayList<Song> songsIn(final BitSet selected) {
+        ArrayList<Song> result = new ArrayList<>(selected.cardinality());
+        for (int row = selected.nextSetBit(0); row >= 0; row = selected.nextSetBit(row + 1)) {
+            result.add(songs[row]);
+        }
+        return result;
+    }
+
+    private void keepSymbol(final BitSet selected, final int[] column, final int symbol) {
+        if (symbol == SymbolTable.ABSENT) {
+            selected.clear();
+            return;
+        }
+        for (int row = 0; row < end; row++) {
+            if (column[row] != symbol) {
+                selected.clear(row);
+            }
+        }
+    }
+
+    private BitSet tagSet(final List<String> songTags) {
+        BitSet symbols = new BitSet();
+        if (songTags != null) {
+            songTags.forEach(tag -> symbols.set(tagSymbols.intern(tag)));
+        }
+        return symbols;
+    }
+
+    private void removeWithoutCompacting(final Song song) {
+        Integer row = rows.remove(song);
+        if (row != null) {
+            songs[row] = null;
+            tags[row] = null;
+            emptyRows++;
+            rowsVersion++;
+        }
+    }
+
+    /**
+     * Moves all the songs to the front of the columns, once the empty rows outnumber them
+     */
+    private void compactIfSparse() {
+        if (emptyRows <= rows.size()) {
+            return;
+        }
+        int size = 0;
+        for (int row = 0; row < end; row++) {
+            if (songs[row] != null) {
+                songs[size] = songs[row];
+                likes[size] = likes[row];
+                releaseYears[size] = releaseYears[row];
+                genres[size] = genres[row];
+                artists[size] = artists[row];
+                albums[size] = albums[row];
+                tags[size] = tags[row];
+                rows.put(songs[size], size);
+                size++;
+            }
+        }
+        Arrays.fill(songs, size, end, null);
+        Arrays.fill(tags, size, end, null);
+        end = size;
+        emptyRows = 0;
+    }
+}
@@ -0,0 +1,140 @@
+package libraries.audio;
+
+import entities.audio.Song;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * The songs of the library that are left after applying some filters
+ * The release year, genre, artist, album and tags filters scan the columns of the library,
+ * the other filters check the remaining songs one by one
+ * The songs are only collected, in library order, when they are needed
+ * Every filter is applied while holding the read lock of the library; if songs were removed
+ * in between, the rows are selected again and the filters so far are applied once more
+ */
+public final class SongSelection {
+    private final SongColumns columns;
+    private final StampedLock lock;
+    private final List<Consumer<BitSet>> filters = new ArrayList<>();
+    private BitSet rows;
+    private long rowsVersion;
+
+    SongSelection(final SongColumns columns, final StampedLock lock) {
+        this.columns = columns;
+        this.lock = lock;
+    }
+
+    /**
+     * Keeps only the songs from the specified genre
+     *
+     * @param genre The genre (case-insensitive)
+     */
+    public void keepGenre(final String genre) {
+        apply(selected -> columns.keepGenre(selected, genre));
+    }
+
+    /**
+     * Keeps only the songs created by the specified artist
+     *
+     * @param artist The name of the artist
+     */
+    public void keepArtist(final String artist) {
+        apply(selected -> columns.keepArtist(selected, artist));
+    }
+
+    /**
+     * Keeps only the songs from the specified album
+     *
+     * @param album The name of the album
+     */
+    public void keepAlbum(final String album) {
+        apply(selected -> columns.keepAlbum(selected, album));
+    }
+
+    /**
+     * Keeps only the songs that have all the specified tags
+     *
+     * @param tags The tags the songs must have
+     */
+    public void keepTags(final List<String> tags) {
+        apply(selected -> columns.keepTags(selected, tags));
+    }
+
+    /**
+     * Keeps only the songs released before the specified year
+     *
+     * @param year The year the release years are compared with
+     */
+    public void keepReleasedBefore(final int year) {
+        apply(selected -> columns.keepReleasedBefore(selected, year));
+    }
+
+    /**
+     * Keeps only the songs released after the specified year
+     *
+     * @param year The year the release years are compared with
+     */
+    public void keepReleasedAfter(final int year) {
+        apply(selected -> columns.keepReleasedAfter(selected, year));
+    }
+
+    /**
+     * Keeps only the songs that match the predicate
+     *
+     * @param predicate The condition checked for every remaining song
+     */
+    public void keepIf(final Predicate<Song> predicate) {
+        apply(selected -> columns.keepIf(selected, predicate));
+    }
+
+    /**
+     * Removes all the songs from the selection
+     */
+    public void clear() {
+        apply(BitSet::clear);
+    }
+
+    /**
+     * Gets the selected songs
+     *
+     * @return A new list with the selected songs, in library order
+     */
+    public ArrayList<Song> toList() {
+        long stamp = lock.readLock();
+        try {
+            return columns.songsIn(currentRows());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void apply(final Consumer<BitSet> filter) {
+        long stamp = lock.readLock();
+        try {
+            filter.accept(currentRows());
+            filters.add(filter);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets the selected rows, selecting them again if rows were emptied or moved
+     * Must be called while holding the read lock
+     *
+     * @return The selected rows
+     */
+    private BitSet currentRows() {
+        if (rows == null || rowsVersion != columns.rowsVersion()) {
+            rows = columns.songRows();
+            rowsVersion = columns.rowsVersion();
+            filters.forEach(filter -> filter.accept(rows));
+        }
+        return rows;
+    }
+}
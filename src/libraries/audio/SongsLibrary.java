@@ -5,32 +5,237 @@ import entities.audio.collections.Album;
 import libraries.GenericLibrary;
 import lombok.Getter;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
 
+/**
+ * The library of songs
+ * The songs are a catalog, kept copy-on-write like the other catalogs, but the genre index
+ * and the columns also change whenever a song is liked, so they are guarded by a stamped lock
+ * Reads of the indexes hand out copies, made while holding the read lock
+ */
 public final class SongsLibrary extends GenericLibrary<Song> {
-    private static SongsLibrary instance = null;
+    private static final long serialVersionUID = 1L;
+
     @Getter
     private static int adDuration;
+    private final GenreIndex genreIndex = new GenreIndex();
+    private final SongColumns columns = new SongColumns();
+    private transient StampedLock lock = new StampedLock();
 
     private SongsLibrary() {
     }
 
+    private static final class InstanceHolder {
+        private static volatile SongsLibrary instance = new SongsLibrary();
+    }
+
     /**
      * Gets the instance for the songs' library class (singleton pattern)
      * Initialize it if needed
      *
      * @return The library instance
      */
-    public static synchronized SongsLibrary getInstance() {
-        if (instance == null) {
-            instance = new SongsLibrary();
+    public static SongsLibrary getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /**
+     * Replaces the instance with one restored from a snapshot
+     *
+     * @param restored The restored instance
+     */
+    public static void restoreInstance(final SongsLibrary restored) {
+        InstanceHolder.instance = restored;
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException,
+            ClassNotFoundException {
+        in.defaultReadObject();
+        lock = new StampedLock();
+    }
+
+    /**
+     * Sets the songs in the library and rebuilds the genre index and the columns
+     *
+     * @param items The list of songs to be set
+     */
+    @Override
+    public void setItems(final ArrayList<Song> items) {
+        long stamp = lock.writeLock();
+        try {
+            super.setItems(items);
+            genreIndex.clear();
+            columns.clear();
+            if (items != null) {
+                for (Song song : items) {
+                    columns.add(song);
+                    genreIndex.add(song, 0);
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds the specified song to the library, to its genre bucket and to the columns
+     *
+     * @param item The song to be added
+     */
+    @Override
+    public void addItem(final Song item) {
+        long stamp = lock.writeLock();
+        try {
+            super.addItem(item);
+            columns.add(item);
+            genreIndex.add(item, 0);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds the specified songs to the library, to their genre buckets and to the columns
+     *
+     * @param items The songs to be added
+     */
+    @Override
+    public void addItems(final Collection<Song> items) {
+        long stamp = lock.writeLock();
+        try {
+            super.addItems(items);
+            for (Song song : items) {
+                columns.add(song);
+                genreIndex.add(song, 0);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the specified song from the library, from its genre bucket and from the columns
+     *
+     * @param item The song to be removed
+     */
+    @Override
+    public void removeItem(final Song item) {
+        long stamp = lock.writeLock();
+        try {
+            super.removeItem(item);
+            genreIndex.remove(item);
+            columns.remove(item);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the specified songs from the library, from their genre buckets and from the columns
+     *
+     * @param items The songs to be removed
+     */
+    @Override
+    public void removeItems(final Set<Song> items) {
+        long stamp = lock.writeLock();
+        try {
+            super.removeItems(items);
+            genreIndex.removeAll(items);
+            columns.removeAll(items);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the likes count of a song, which is kept in the likes column of the library
+     *
+     * @param song The song
+     * @return The likes count, or 0 if the song is not part of the library
+     */
+    public int getLikes(final Song song) {
+        long stamp = lock.readLock();
+        try {
+            return columns.likes(song);
+        } finally {
+            lock.unlockRead(stamp);
         }
-        return instance;
+    }
+
+    /**
+     * Changes the likes count of a song, which never goes below 0,
+     * and moves the song to its new position in its genre bucket
+     *
+     * @param song  The song that was liked or unliked
+     * @param delta The number of likes added, negative if likes were removed
+     * @return {@code true} if the likes count of the song changed
+     */
+    public boolean addLikes(final Song song, final int delta) {
+        long stamp = lock.writeLock();
+        try {
+            if (!columns.addLikes(song, delta)) {
+                return false;
+            }
+            genreIndex.updateLikes(song, columns.likes(song));
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Selects all the songs in the library, so they can be narrowed down by filters
+     *
+     * @return A selection with all the songs
+     */
+    public SongSelection selectAll() {
+        return new SongSelection(columns, lock);
+    }
+
+    /**
+     * Gets the songs of the specified genre, in library order
+     *
+     * @param genre The genre of the songs (case-insensitive)
+     * @return An unmodifiable copy of the songs of that genre
+     */
+    public List<Song> getSongsForGenre(final String genre) {
+        long stamp = lock.readLock();
+        try {
+            return List.copyOf(genreIndex.songsForGenre(genre));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Iterates over the songs of the specified genre, ordered ascending by likes
+     * Songs with the same number of likes are kept in library order
+     *
+     * @param genre The genre of the songs (case-insensitive)
+     * @return An iterator over a copy of the songs of that genre
+     */
+    public Iterator<Song> getSongsForGenreByLikes(final String genre) {
+        ArrayList<Song> songs = new ArrayList<>();
+        long stamp = lock.readLock();
+        try {
+            genreIndex.songsForGenreByLikes(genre).forEachRemaining(songs::add);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return songs.iterator();
     }
 
     /**
      * Gets the top songs by likes and keeps only the specified number of songs
+     * Songs with the same number of likes are kept in library order
      *
      * @param maxNumber The maximum number of songs to keep
      * @return The list of songs with the most likes
@@ -39,12 +244,12 @@ public final class SongsLibrary extends GenericLibrary<Song> {
         if (getItems() == null) {
             return null;
         }
-        ArrayList<Song> songs = new ArrayList<>(getItems());
-        songs.sort(Comparator.comparing(Song::getLikes).reversed());
-        if (songs.size() > maxNumber) {
-            songs.retainAll(songs.subList(0, maxNumber));
+        long stamp = lock.readLock();
+        try {
+            return columns.topByLikes(maxNumber);
+        } finally {
+            lock.unlockRead(stamp);
         }
-        return songs;
     }
 
     /**
@@ -53,9 +258,7 @@ public final class SongsLibrary extends GenericLibrary<Song> {
      * @param album The album from which we add the songs to the library
      */
     public void addSongsFromAlbum(final Album album) {
-        for (Song song : album.getCollection()) {
-            addItem(song);
-        }
+        addItems(album.getCollection());
     }
 
     /**
@@ -64,9 +267,7 @@ public final class SongsLibrary extends GenericLibrary<Song> {
      * @param album The album from which we get the songs to delete
      */
     public void removeSongsFromAlbum(final Album album) {
-        for (Song song : album.getCollection()) {
-            removeItem(song);
-        }
+        removeItems(new HashSet<>(album.getCollection()));
     }
 
     public static void setAdDuration(final int adDuration) {
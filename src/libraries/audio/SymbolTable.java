@@ -0,0 +1,50 @@
+package libraries.audio;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * Dictionary that gives every distinct string a dense int symbol, in order of first appearance
+ * Strings repeated across many songs are compared through their symbols
+ * A case-folded table gives the same symbol to strings that differ only in case
+ */
+final class SymbolTable implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The symbol of the strings that are not part of the table
+     */
+    static final int ABSENT = -1;
+
+    private final HashMap<String, Integer> symbols = new HashMap<>();
+    private final boolean caseFolded;
+
+    SymbolTable(final boolean caseFolded) {
+        this.caseFolded = caseFolded;
+    }
+
+    /**
+     * Gets the symbol of a string, adding the string to the table if needed
+     *
+     * @param value The string
+     * @return The symbol of the string
+     */
+    int intern(final String value) {
+        return symbols.computeIfAbsent(keyOf(value), key -> symbols.size());
+    }
+
+    /**
+     * Gets the symbol of a string, without adding it to the table
+     *
+     * @param value The string
+     * @return The symbol of the string, or {@link #ABSENT} if it isn't part of the table
+     */
+    int symbolOf(final String value) {
+        return symbols.getOrDefault(keyOf(value), ABSENT);
+    }
+
+    private String keyOf(final String value) {
+        return caseFolded && value != null ? value.toLowerCase(Locale.ROOT) : value;
+    }
+}
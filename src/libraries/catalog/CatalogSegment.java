@@ -0,0 +1,435 @@
+package libraries.catalog;
+
+import fileio.input.EpisodeInput;
+import fileio.input.SongInput;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A read-only file, mapped in memory, with the metadata of the songs and episodes
+ * from the input library: names, albums, lyrics, tags, genres, artists, descriptions,
+ * durations and release years
+ * <p>
+ * The file starts with a header, followed by a fixed-size record for every song, then
+ * for every episode, and by the string pool. Records refer to strings by their offset in
+ * the pool, and every string is stored only once, as its UTF-8 bytes after its length.
+ * Names and lyrics made only of ASCII characters are searched in place, without being decoded
+ * <p>
+ * Only the immutable metadata is kept in the segment: the counters of every song
+ * stay on the heap, in the song itself
+ */
+public final class CatalogSegment implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The system property with the path of the segment file
+     * When it's set, the songs and episodes of the input library are kept in a segment
+     */
+    public static final String PROPERTY = "catalog.segment";
+
+    private static final int MAGIC = 0x43415447;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+    private static final int SONG_FIELDS = 8;
+    private static final int SONG_RECORD_SIZE = SONG_FIELDS * Integer.BYTES;
+    private static final int EPISODE_FIELDS = 3;
+    private static final int EPISODE_RECORD_SIZE = EPISODE_FIELDS * Integer.BYTES;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final int NAME = 0;
+    private static final int ALBUM = 1;
+    private static final int LYRICS = 2;
+    private static final int GENRE = 3;
+    private static final int ARTIST = 4;
+    private static final int TAGS = 5;
+    private static final int DURATION = 6;
+    private static final int RELEASE_YEAR = 7;
+    private static final int DESCRIPTION = 1;
+    private static final int EPISODE_DURATION = 2;
+
+    /**
+     * The reference used for {@code null} strings and lists
+     */
+    private static final int NULL_REF = -1;
+    /**
+     * The value used for {@code null} numbers, which is also {@code Song.NO_RELEASE_YEAR}
+     */
+    private static final int NULL_NUMBER = Integer.MIN_VALUE;
+    private static final int ASCII_FLAG = 1;
+    private static final int ASCII_LIMIT = 0x80;
+
+    private final File file;
+    private transient MappedByteBuffer buffer;
+    private transient int episodesStart;
+    private transient int poolStart;
+
+    private CatalogSegment(final File file) throws IOException {
+        this.file = file;
+        map();
+    }
+
+    /**
+     * Writes the metadata of the songs and episodes to a segment file and maps it
+     *
+     * @param file     The segment file, replaced if it exists
+     * @param songs    The songs, in the order of their records
+     * @param episodes The episodes, in the order of their records
+     * @return The mapped segment
+     * @throws IOException if the segment can't be written or mapped
+     */
+    public static CatalogSegment build(final File file,
+                                       final List<SongInput> songs,
+                                       final List<EpisodeInput> episodes) throws IOException {
+        StringPool pool = new StringPool();
+        int[] songRecords = new int[songs.size() * SONG_FIELDS];
+        for (int i = 0; i < songs.size(); i++) {
+            SongInput song = songs.get(i);
+            int record = i * SONG_FIELDS;
+            songRecords[record + NAME] = pool.add(song.getName());
+            songRecords[record + ALBUM] = pool.add(song.getAlbum());
+            songRecords[record + LYRICS] = pool.add(song.getLyrics());
+            songRecords[record + GENRE] = pool.add(song.getGenre());
+            songRecords[record + ARTIST] = pool.add(song.getArtist());
+            songRecords[record + TAGS] = pool.addList(song.getTags());
+            songRecords[record + DURATION] = numberOf(song.getDuration());
+            songRecords[record + RELEASE_YEAR] = numberOf(song.getReleaseYear());
+        }
+        int[] episodeRecords = new int[episodes.size() * EPISODE_FIELDS];
+        for (int i = 0; i < episodes.size(); i++) {
+            EpisodeInput episode = episodes.get(i);
+            int record = i * EPISODE_FIELDS;
+            episodeRecords[record + NAME] = pool.add(episode.getName());
+            episodeRecords[record + DESCRIPTION] = pool.add(episode.getDescription());
+            episodeRecords[record + EPISODE_DURATION] = numberOf(episode.getDuration());
+        }
+
+        long size = (long) HEADER_SIZE + (long) songRecords.length * Integer.BYTES
+                + (long) episodeRecords.length * Integer.BYTES + pool.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("The catalog doesn't fit in a segment: "
+                    + size + " bytes");
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(file), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(songs.size());
+            out.writeInt(episodes.size());
+            for (int value : songRecords) {
+                out.writeInt(value);
+            }
+            for (int value : episodeRecords) {
+                out.writeInt(value);
+            }
+            pool.writeTo(out);
+        }
+        return new CatalogSegment(file);
+    }
+
+    private void map() throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Not a catalog segment: " + file);
+        }
+        int songCount = buffer.getInt(2 * Integer.BYTES);
+        int episodeCount = buffer.getInt(3 * Integer.BYTES);
+        episodesStart = HEADER_SIZE + songCount * SONG_RECORD_SIZE;
+        poolStart = episodesStart + episodeCount * EPISODE_RECORD_SIZE;
+    }
+
+    private void readObject(final ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        map();
+    }
+
+    /**
+     * Gets the name of a song
+     *
+     * @param song The index of the song's record
+     * @return The name of the song
+     */
+    public String songName(final int song) {
+        return string(songField(song, NAME));
+    }
+
+    /**
+     * Gets the album of a song
+     *
+     * @param song The index of the song's record
+     * @return The name of the album
+     */
+    public String songAlbum(final int song) {
+        return string(songField(song, ALBUM));
+    }
+
+    /**
+     * Gets the genre of a song
+     *
+     * @param song The index of the song's record
+     * @return The genre
+     */
+    public String songGenre(final int song) {
+        return string(songField(song, GENRE));
+    }
+
+    /**
+     * Gets the artist of a song
+     *
+     * @param song The index of the song's record
+     * @return The name of the artist
+     */
+    public String songArtist(final int song) {
+        return string(songField(song, ARTIST));
+    }
+
+    /**
+     * Gets the duration of a song
+     *
+     * @param song The index of the song's record
+     * @return The duration
+     */
+    public int songDuration(final int song) {
+        return songField(song, DURATION);
+    }
+
+    /**
+     * Gets the release year of a song
+     *
+     * @param song The index of the song's record
+     * @return The release year, or {@link Integer#MIN_VALUE} if it is not known
+     */
+    public int songReleaseYear(final int song) {
+        return songField(song, RELEASE_YEAR);
+    }
+
+    /**
+     * Gets the tags of a song
+     *
+     * @param song The index of the song's record
+     * @return A new list with the tags
+     */
+    public List<String> songTags(final int song) {
+        int list = songField(song, TAGS);
+        if (list == NULL_REF) {
+            return null;
+        }
+        int count = buffer.getInt(poolStart + list);
+        List<String> tags = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            tags.add(string(buffer.getInt(poolStart + list + i * Integer.BYTES)));
+        }
+        return tags;
+    }
+
+    /**
+     * Checks if the name of a song starts with the specified string, ignoring case
+     *
+     * @param song   The index of the song's record
+     * @param prefix The string searched for
+     * @return {@code true} if the name starts with the string, {@code false} otherwise
+     */
+    public boolean songNameStartsWith(final int song, final String prefix) {
+        int ref = songField(song, NAME);
+        if (!isAscii(ref) || !isAscii(prefix)) {
+            return string(ref).toLowerCase().startsWith(prefix.toLowerCase());
+        }
+        return length(ref) >= prefix.length() && regionMatches(ref, 0, prefix, true);
+    }
+
+    /**
+     * Checks if the lyrics of a song contain the specified string, ignoring case
+     *
+     * @param song   The index of the song's record
+     * @param lyrics The string searched for
+     * @return {@code true} if the lyrics contain the string, {@code false} otherwise
+     */
+    public boolean songLyricsContain(final int song, final String lyrics) {
+        int ref = songField(song, LYRICS);
+        if (!isAscii(ref) || !isAscii(lyrics)) {
+            return string(ref).toLowerCase().contains(lyrics.toLowerCase());
+        }
+        int last = length(ref) - lyrics.length();
+        for (int start = 0; start <= last; start++) {
+            if (regionMatches(ref, start, lyrics, true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the name of an episode
+     *
+     * @param episode The index of the episode's record
+     * @return The name of the episode
+     */
+    public String episodeName(final int episode) {
+        return string(episodeField(episode, NAME));
+    }
+
+    /**
+     * Gets the description of an episode
+     *
+     * @param episode The index of the episode's record
+     * @return The description
+     */
+    public String episodeDescription(final int episode) {
+        return string(episodeField(episode, DESCRIPTION));
+    }
+
+    /**
+     * Gets the duration of an episode
+     *
+     * @param episode The index of the episode's record
+     * @return The duration
+     */
+    public int episodeDuration(final int episode) {
+        return episodeField(episode, EPISODE_DURATION);
+    }
+
+    /**
+     * Checks if the name of an episode starts with the specified string
+     *
+     * @param episode The index of the episode's record
+     * @param prefix  The string searched for
+     * @return {@code true} if the name starts with the string, {@code false} otherwise
+     */
+    public boolean episodeNameStartsWith(final int episode, final String prefix) {
+        int ref = episodeField(episode, NAME);
+        if (!isAscii(ref) || !isAscii(prefix)) {
+            return string(ref).startsWith(prefix);
+        }
+        return length(ref) >= prefix.length() && regionMatches(ref, 0, prefix, false);
+    }
+
+    private int songField(final int song, final int field) {
+        return buffer.getInt(HEADER_SIZE + song * SONG_RECORD_SIZE + field * Integer.BYTES);
+    }
+
+    private int episodeField(final int episode, final int field) {
+        return buffer.getInt(episodesStart + episode * EPISODE_RECORD_SIZE
+                + field * Integer.BYTES);
+    }
+
+    private static int numberOf(final Integer value) {
+        return value == null ? NULL_NUMBER : value;
+    }
+
+    private String string(final int ref) {
+        if (ref == NULL_REF) {
+            return null;
+        }
+        byte[] bytes = new byte[length(ref)];
+        buffer.get(poolStart + ref + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int length(final int ref) {
+        return buffer.getInt(poolStart + ref) >>> 1;
+    }
+
+    private boolean isAscii(final int ref) {
+        return ref != NULL_REF && (buffer.getInt(poolStart + ref) & ASCII_FLAG) != 0;
+    }
+
+    private static boolean isAscii(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= ASCII_LIMIT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares the ASCII characters of a stored string, starting from an offset,
+     * with all the characters of a string
+     */
+    private boolean regionMatches(final int ref, final int offset, final String value,
+                                  final boolean ignoreCase) {
+        int start = poolStart + ref + Integer.BYTES + offset;
+        for (int i = 0; i < value.length(); i++) {
+            char stored = (char) buffer.get(start + i);
+            char searched = value.charAt(i);
+            if (ignoreCase) {
+                stored = toLowerCase(stored);
+                searched = toLowerCase(searched);
+            }
+            if (stored != searched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char toLowerCase(final char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c - 'A' + 'a') : c;
+    }
+
+    /**
+     * The strings of a segment being built, each stored once
+     */
+    private static final class StringPool {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final HashMap<String, Integer> refs = new HashMap<>();
+
+        int add(final String value) throws IOException {
+            if (value == null) {
+                return NULL_REF;
+            }
+            Integer existing = refs.get(value);
+            if (existing != null) {
+                return existing;
+            }
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            int ascii = encoded.length == value.length() ? ASCII_FLAG : 0;
+            int ref = out.size();
+            out.writeInt((encoded.length << 1) | ascii);
+            out.write(encoded, 0, encoded.length);
+            refs.put(value, ref);
+            return ref;
+        }
+
+        int addList(final ArrayList<String> values) throws IOException {
+            if (values == null) {
+                return NULL_REF;
+            }
+            int[] elements = new int[values.size()];
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = add(values.get(i));
+            }
+            int ref = out.size();
+            out.writeInt(elements.length);
+            for (int element : elements) {
+                out.writeInt(element);
+            }
+            return ref;
+        }
+
+        int size() {
+            return out.size();
+        }
+
+        void writeTo(final DataOutputStream target) throws IOException {
+            bytes.writeTo(target);
+        }
+    }
+}
@@ -1,31 +1,42 @@
 package libraries.users;
 
+import entities.audio.Song;
 import entities.audio.collections.Album;
 import libraries.GenericLibrary;
 import libraries.audio.AlbumsLibrary;
 import libraries.audio.SongsLibrary;
 import entities.user.Artist;
 
-import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 
 public final class ArtistsLibrary extends GenericLibrary<Artist> {
-    private static ArtistsLibrary instance = null;
+    private static final long serialVersionUID = 1L;
 
     private ArtistsLibrary() {
     }
 
+    private static final class InstanceHolder {
+        private static volatile ArtistsLibrary instance = new ArtistsLibrary();
+    }
+
     /**
      * Gets the instance for the artists' library class (singleton pattern)
      * Initialize it if needed
      *
      * @return The library instance
      */
-    public static synchronized ArtistsLibrary getInstance() {
-        if (instance == null) {
-            instance = new ArtistsLibrary();
-        }
-        return instance;
+    public static ArtistsLibrary getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /**
+     * Replaces the instance with one restored from a snapshot
+     *
+     * @param restored The restored instance
+     */
+    public static void restoreInstance(final ArtistsLibrary restored) {
+        InstanceHolder.instance = restored;
     }
 
     /**
@@ -35,7 +46,7 @@ public final class ArtistsLibrary extends GenericLibrary<Artist> {
      * @return {@code true} if the artist exists in the library, {@code false} otherwise
      */
     public boolean artistExists(final String username) {
-        ArrayList<Artist> artists = getItems();
+        List<Artist> artists = getItems();
         if (artists == null || artists.isEmpty()) {
             return false;
         }
@@ -57,7 +68,7 @@ public final class ArtistsLibrary extends GenericLibrary<Artist> {
         if (username == null) {
             return null;
         }
-        ArrayList<Artist> artists = getItems();
+        List<Artist> artists = getItems();
         if (artists == null || artists.isEmpty()) {
             return null;
         }
@@ -72,16 +83,19 @@ public final class ArtistsLibrary extends GenericLibrary<Artist> {
     /**
      * Deletes the given artist from the Artists library
      * It also removes their albums and songs from the album and songs libraries
+     * The songs and albums are collected first, so every library is compacted only once
      *
      * @param artist The artist to delete
      */
     public void deleteArtist(final Artist artist) {
         HashSet<Album> albums = artist.getAlbums();
+        HashSet<Song> songs = new HashSet<>();
         for (Album album : albums) {
             album.removeAllLikes();
-            SongsLibrary.getInstance().removeSongsFromAlbum(album);
-            AlbumsLibrary.getInstance().removeAlbum(album);
+            songs.addAll(album.getCollection());
         }
+        SongsLibrary.getInstance().removeItems(songs);
+        AlbumsLibrary.getInstance().removeItems(albums);
         removeItem(artist);
     }
 }
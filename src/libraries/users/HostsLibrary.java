@@ -5,26 +5,36 @@ import libraries.GenericLibrary;
 import libraries.audio.PodcastsLibrary;
 import entities.user.Host;
 
-import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 
 public final class HostsLibrary extends GenericLibrary<Host> {
-    private static HostsLibrary instance = null;
+    private static final long serialVersionUID = 1L;
 
     private HostsLibrary() {
     }
 
+    private static final class InstanceHolder {
+        private static volatile HostsLibrary instance = new HostsLibrary();
+    }
+
     /**
      * Gets the instance for the hosts' library class (singleton pattern)
      * Initialize it if needed
      *
      * @return The library instance
      */
-    public static synchronized HostsLibrary getInstance() {
-        if (instance == null) {
-            instance = new HostsLibrary();
-        }
-        return instance;
+    public static HostsLibrary getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /**
+     * Replaces the instance with one restored from a snapshot
+     *
+     * @param restored The restored instance
+     */
+    public static void restoreInstance(final HostsLibrary restored) {
+        InstanceHolder.instance = restored;
     }
 
     /**
@@ -34,7 +44,7 @@ public final class HostsLibrary extends GenericLibrary<Host> {
      * @return {@code true} if the host exists, {@code false} otherwise
      */
     public boolean hostExists(final String username) {
-        ArrayList<Host> hosts = getItems();
+        List<Host> hosts = getItems();
         if (hosts == null || hosts.isEmpty()) {
             return false;
         }
@@ -53,7 +63,7 @@ public final class HostsLibrary extends GenericLibrary<Host> {
      * @return The host
      */
     public Host getHostByName(final String username) {
-        ArrayList<Host> hosts = getItems();
+        List<Host> hosts = getItems();
         if (hosts == null || hosts.isEmpty()) {
             return null;
         }
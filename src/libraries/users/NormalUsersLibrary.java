@@ -2,47 +2,76 @@ package libraries.users;
 
 import entities.audio.Song;
 import entities.audio.collections.Playlist;
-import libraries.GenericLibrary;
+import libraries.LockedLibrary;
 import libraries.audio.PlaylistsLibrary;
 import entities.user.NormalUser;
+import entities.user.User;
+import notifications.Notifier;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
-public final class NormalUsersLibrary extends GenericLibrary<NormalUser> {
-    private static NormalUsersLibrary instance = null;
+/**
+ * The library of normal users
+ * The users are also indexed by name in a concurrent map, so lookups by name never lock
+ */
+public final class NormalUsersLibrary extends LockedLibrary<NormalUser> {
+    private static final long serialVersionUID = 1L;
+
+    private final ConcurrentHashMap<String, NormalUser> usersByName = new ConcurrentHashMap<>();
 
     private NormalUsersLibrary() {
     }
 
+    private static final class InstanceHolder {
+        private static volatile NormalUsersLibrary instance = new NormalUsersLibrary();
+    }
+
     /**
      * Gets the instance for the users' library class (singleton pattern)
      * Initialize it if needed
      *
      * @return The library instance
      */
-    public static synchronized NormalUsersLibrary getInstance() {
-        if (instance == null) {
-            instance = new NormalUsersLibrary();
-        }
-        return instance;
+    public static NormalUsersLibrary getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /**
+     * Replaces the instance with one restored from a snapshot
+     *
+     * @param restored The restored instance
+     */
+    public static void restoreInstance(final NormalUsersLibrary restored) {
+        InstanceHolder.instance = restored;
     }
 
     /**
      * Gets the entities.user by the specified username
+     * The users are indexed by their names, so the lookup takes constant time
      *
      * @param username The username to seacrh for
      * @return The entities.user
      */
     public NormalUser getUserByName(final String username) {
-        if (getItems() == null) {
-            return null;
-        }
-        return getItems()
-                .stream()
-                .filter(user -> user.getName().equals(username))
-                .findFirst()
-                .orElse(null);
+        return usersByName.get(username);
+    }
+
+    @Override
+    protected void clearIndexes() {
+        usersByName.clear();
+    }
+
+    @Override
+    protected void index(final NormalUser user) {
+        usersByName.putIfAbsent(user.getName(), user);
+    }
+
+    @Override
+    protected void unindex(final NormalUser user) {
+        usersByName.remove(user.getName(), user);
     }
 
     public List<String> getOnlineUsers() {
@@ -68,15 +97,18 @@ public final class NormalUsersLibrary extends GenericLibrary<NormalUser> {
      *  - Deletes playlists owned by the entities.user
      *  - Removes followers associated with the entities.user
      *  - Removes follows from playlists followed by the entities.user
+     *  - Unsubscribes the entities.user from artists and hosts
+     *  - Empties the player of the entities.user
+     *  - Removes the entities.user from the songs recommended to them
      *
      * @param user The entities.user to be deleted
      */
     public void deleteUser(final NormalUser user) {
         ArrayList<Playlist> playlists = user.getPlaylists();
         Playlist likedSongs = user.getLiked();
-        ArrayList<Playlist> followedPlaylists = user.getFollowedPlaylists();
+        List<Playlist> followedPlaylists = user.getFollowedPlaylists();
         if (likedSongs != null) {
-            for (Song song : likedSongs.getCollection()) {
+            for (Song song : new ArrayList<>(likedSongs.getCollection())) {
                 song.removeLikeFrom(user);
             }
         }
@@ -86,14 +118,23 @@ public final class NormalUsersLibrary extends GenericLibrary<NormalUser> {
                     song.decrementInPlaylistCount();
                 }
                 playlist.removeAllFollowers();
-                PlaylistsLibrary.getInstance().removePlaylist(playlist);
             }
+            PlaylistsLibrary.getInstance().removeItems(new HashSet<>(playlists));
         }
         if (followedPlaylists != null) {
             for (Playlist followedPlaylist : followedPlaylists) {
                 followedPlaylist.removeFollower();
+                followedPlaylist.removeGenreHistogram(user.getGenreHistogram());
             }
         }
+        for (User subscription : new ArrayList<>(user.getSubscriptions())) {
+            ((Notifier) subscription).removeObserver(user);
+            user.removeSubscription(subscription);
+        }
+        for (Song song : user.getSongsRecommendations()) {
+            song.removeRecommendedTo(user);
+        }
+        user.releaseApp();
         removeItem(user);
     }
 }
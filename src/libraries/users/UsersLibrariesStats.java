@@ -7,6 +7,7 @@ import entities.user.NormalUser;
 import entities.user.User;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public final class UsersLibrariesStats {
     private UsersLibrariesStats() {
@@ -19,12 +20,10 @@ public final class UsersLibrariesStats {
      * @return The user or {@code null} if it wasn't found
      */
     public static boolean userExists(final String username) {
-        for (NormalUser normalUser : NormalUsersLibrary.getInstance().getItems()) {
-            if (normalUser.getName().equals(username)) {
-                return true;
-            }
+        if (NormalUsersLibrary.getInstance().userExists(username)) {
+            return true;
         }
-        ArrayList<Artist> artists = ArtistsLibrary.getInstance().getItems();
+        List<Artist> artists = ArtistsLibrary.getInstance().getItems();
         if (artists != null) {
             for (Artist artist : artists) {
                 if (artist.getName().equals(username)) {
@@ -32,7 +31,7 @@ public final class UsersLibrariesStats {
                 }
             }
         }
-        ArrayList<Host> hosts = HostsLibrary.getInstance().getItems();
+        List<Host> hosts = HostsLibrary.getInstance().getItems();
         if (hosts != null) {
             for (Host host : hosts) {
                 if (host.getName().equals(username)) {
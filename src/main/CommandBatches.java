@@ -0,0 +1,54 @@
+package main;
+
+import fileio.input.CommandInput;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Groups consecutive commands that share a timestamp, so the clock is moved once per group
+ * Commands stamped up to the time the state was resumed at are skipped
+ */
+final class CommandBatches implements Iterator<List<CommandInput>> {
+    private final Iterator<CommandInput> commands;
+    private CommandInput next;
+
+    /**
+     * Creates the batches
+     *
+     * @param commands  The commands, in order
+     * @param resumedAt The timestamp of the snapshot the state was loaded from
+     */
+    CommandBatches(final Iterator<CommandInput> commands, final int resumedAt) {
+        this.commands = commands;
+        next = nextCommand();
+        while (next != null && next.getTimestamp() <= resumedAt) {
+            next = nextCommand();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public List<CommandInput> next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        ArrayList<CommandInput> batch = new ArrayList<>();
+        int timestamp = next.getTimestamp();
+        while (next != null && next.getTimestamp() == timestamp) {
+            batch.add(next);
+            next = nextCommand();
+        }
+        return batch;
+    }
+
+    private CommandInput nextCommand() {
+        return commands.hasNext() ? commands.next() : null;
+    }
+}
@@ -0,0 +1,228 @@
+package main;
+
+import actors.CommandActors;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fileio.input.CommandInput;
+import fileio.input.LibraryInput;
+import managers.TimeManager;
+import recommendation.RecommendationBatch;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the simulation live, taking commands from clients on the local machine
+ * Every client sends commands as JSON objects, one per line, and gets back the output of
+ * every command on a line of its own, in order ({@code null} for commands without output)
+ * Connections are served on virtual threads when the runtime has them, otherwise on a cached
+ * thread pool, while the commands are performed one at a time by the engine thread
+ * The clock is logical: it moves forward to the timestamp of every command but never goes
+ * back, so a command stamped before the current time is performed at the current time
+ * Commands performed at the current time only catch up with it, without moving the clock
+ * When the {@value CommandActors#PARALLELISM_PROPERTY} system property is set, the engine
+ * thread sends the commands of users to their actors instead, so clients waiting for
+ * different users are served concurrently
+ */
+public final class CommandServer implements Closeable {
+    public static final int DEFAULT_PORT = 4747;
+    private static final int BACKLOG = 1024;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = newConnectionExecutor();
+    private final ExecutorService engine = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "engine"));
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CommandActors actors;
+
+    /**
+     * Opens the server socket on the loopback interface
+     *
+     * @param port The port the clients connect to
+     * @throws IOException if the socket can't be opened
+     */
+    public CommandServer(final int port) throws IOException {
+        serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        Integer parallelism = Integer.getInteger(CommandActors.PARALLELISM_PROPERTY);
+        actors = parallelism == null ? null : new CommandActors(parallelism,
+                command -> objectMapper.valueToTree(Main.performCommand(command)));
+    }
+
+    /**
+     * Loads the library and serves clients until the process is stopped
+     *
+     * @param args The port (optional) and the path of the library (optional)
+     * @throws IOException if the library can't be read or the socket can't be opened
+     */
+    public static void main(final String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        String libraryPath = args.length > 1 ? args[1] : Main.LIBRARY_PATH;
+        LibraryInput library = new ObjectMapper().readValue(new File(libraryPath),
+                LibraryInput.class);
+        Main.resetLibraries(library);
+        try (CommandServer server = new CommandServer(port)) {
+            server.serve();
+        }
+    }
+
+    /**
+     * Accepts connections until the server is closed
+     *
+     * @throws IOException if accepting a connection fails while the server is open
+     */
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            connections.execute(() -> handle(socket));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+        engine.shutdown();
+        if (actors != null) {
+            actors.close();
+        }
+    }
+
+    /**
+     * Answers the commands of a client until it disconnects
+     * The responses are flushed once there are no more commands waiting to be read,
+     * so clients that pipeline their commands get their responses in batches
+     *
+     * @param socket The connection to the client
+     */
+    private void handle(final Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(
+                     socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(
+                     socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                out.write(respond(line));
+                out.write('\n');
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // the client disconnected, nothing else is sent to it
+        }
+    }
+
+    /**
+     * Performs a command on the engine thread and converts its output
+     * Commands that can't be parsed or fail get an error object as their output
+     *
+     * @param line The command, as a JSON object
+     * @return The output, as a JSON value on a single line
+     * @throws IOException if the thread is interrupted while the command is performed
+     */
+    private String respond(final String line) throws IOException {
+        JsonNode output;
+        try {
+            CommandInput command = objectMapper.readValue(line, CommandInput.class);
+            output = engine.submit(() -> perform(command)).get().get();
+        } catch (JsonProcessingException e) {
+            output = error(e.getOriginalMessage());
+        } catch (ExecutionException e) {
+            output = error(String.valueOf(e.getCause()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while performing a command");
+        }
+        return objectMapper.writeValueAsString(output);
+    }
+
+    /**
+     * Moves the clock to the timestamp of the command and performs it
+     * The output is converted on the thread that performs the command, before later commands
+     * can change it
+     * In actor mode, the clock only moves once the commands before were performed
+     *
+     * @param command The command to be performed
+     * @return The output of the command, or {@code null} if it has none
+     */
+    private CompletableFuture<JsonNode> perform(final CommandInput command) {
+        TimeManager timeManager = TimeManager.getInstance();
+        boolean catchUp = command.getTimestamp() <= timeManager.getTime();
+        command.setTimestamp(Math.max(timeManager.getTime(), command.getTimestamp()));
+        if (actors == null) {
+            if (catchUp) {
+                CommandActors.catchUp(command);
+            } else {
+                moveClock(command.getTimestamp());
+            }
+            return CompletableFuture.completedFuture(
+                    objectMapper.valueToTree(Main.performCommand(command)));
+        }
+        if (!catchUp) {
+            actors.awaitIdle();
+            moveClock(command.getTimestamp());
+        }
+        return actors.submit(command, catchUp);
+    }
+
+    private static void moveClock(final int timestamp) {
+        TimeManager timeManager = TimeManager.getInstance();
+        int previousTime = timeManager.getTime();
+        timeManager.setTime(timestamp);
+        RecommendationBatch.refreshIfDue(previousTime, timestamp);
+    }
+
+    private JsonNode error(final String message) {
+        return objectMapper.createObjectNode().put("error", message);
+    }
+
+    /**
+     * Creates the executor for the connections
+     * Virtual threads are looked up reflectively, so the server also runs on runtimes
+     * without them
+     *
+     * @return An executor with a virtual thread per task, or a cached thread pool
+     */
+    private static ExecutorService newConnectionExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package main;
 
+import actors.CommandActors;
 import entities.audio.Song;
 import entities.audio.collections.Podcast;
 import checker.Checker;
@@ -7,26 +8,34 @@ import checker.CheckerConstants;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import commands.CommandType;
 import commands.admin.End;
+import fileio.binary.BinaryCommandLog;
+import fileio.binary.BinaryCommandReader;
+import fileio.snapshot.SimulationSnapshot;
 import fileio.input.CommandInput;
+import fileio.input.EpisodeInput;
 import fileio.input.LibraryInput;
+import fileio.input.PodcastInput;
 import fileio.output.Output;
-import fileio.output.PageOutput;
 import libraries.audio.AlbumsLibrary;
 import libraries.audio.PlaylistsLibrary;
 import libraries.audio.PodcastsLibrary;
 import libraries.audio.SongsLibrary;
+import libraries.catalog.CatalogSegment;
 import libraries.users.ArtistsLibrary;
 import libraries.users.HostsLibrary;
 import libraries.users.NormalUsersLibrary;
 import managers.TimeManager;
 import managers.commands.CommandHandler;
 import managers.commands.CommandManagerFactory;
+import managers.normalUser.PlayerManager;
+import recommendation.RecommendationBatch;
 import entities.user.NormalUser;
 
 import java.io.File;
@@ -35,7 +44,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The entry point to this homework. It runs the checker that tests your implentation.
@@ -94,9 +106,14 @@ public final class Main {
     }
 
     /**
+     * The input file is either a JSON array of commands, or a binary command log
+     * When the {@value SimulationSnapshot#RESUME_PROPERTY} system property is set,
+     * the state is loaded from that snapshot and only the later commands are performed
+     *
      * @param filePathInput  for input file
      * @param filePathOutput for output file
      * @throws IOException in case of exceptions to reading / writing
+     * @see BinaryCommandLog
      */
     public static void action(final String filePathInput,
                               final String filePathOutput) throws IOException {
@@ -107,52 +124,190 @@ public final class Main {
         objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         ArrayNode outputs = objectMapper.createArrayNode();
 
-        resetLibraries(library);
+        String resumeFrom = System.getProperty(SimulationSnapshot.RESUME_PROPERTY);
+        int resumedAt = Integer.MIN_VALUE;
+        if (resumeFrom != null) {
+            resumedAt = SimulationSnapshot.load(new File(resumeFrom));
+        } else {
+            resetLibraries(library);
+        }
 
-        TypeReference<ArrayList<CommandInput>> typeRef = new TypeReference<>() {
-        };
-        ArrayList<CommandInput> commands = objectMapper
-                .readValue(new File("input/" + filePathInput), typeRef);
+        File inputFile = new File("input/" + filePathInput);
+        if (BinaryCommandLog.isBinaryLog(inputFile)) {
+            try (BinaryCommandReader commands = new BinaryCommandReader(inputFile)) {
+                performCommands(commands, resumedAt, objectMapper, outputs);
+            }
+        } else {
+            TypeReference<ArrayList<CommandInput>> typeRef = new TypeReference<>() {
+            };
+            ArrayList<CommandInput> commands = objectMapper.readValue(inputFile, typeRef);
+            performCommands(commands.iterator(), resumedAt, objectMapper, outputs);
+        }
 
+        Output endProgram = End.performEndProgram();
+        ObjectNode outNode = objectMapper.valueToTree(endProgram);
+        outputs.add(outNode);
+        ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
+        objectWriter.writeValue(new File(filePathOutput), outputs);
+    }
 
+    /**
+     * Performs the commands in order, adding their outputs
+     * The clock is moved once for every batch of commands that share a timestamp
+     * When the {@value SimulationSnapshot#SAVE_PROPERTY} system property is set,
+     * a snapshot is saved before the first command after the timestamp given by
+     * the {@value SimulationSnapshot#AT_PROPERTY} system property, or after the last command
+     * When the {@value CommandActors#PARALLELISM_PROPERTY} system property is set,
+     * the commands are performed in actor mode, on that many threads
+     * When the {@value RecommendationBatch#PERIOD_PROPERTY} system property is set,
+     * the recommendations of all the users are refreshed whenever the clock moves past
+     * a multiple of that period, before the commands at the new time
+     *
+     * @param commands     The commands to be performed
+     * @param resumedAt    The timestamp of the snapshot the state was loaded from,
+     *                     the commands up to it are skipped
+     * @param objectMapper The mapper used to convert the outputs
+     * @param outputs      The outputs of the commands
+     * @throws IOException if the snapshot can't be saved
+     */
+    private static void performCommands(final Iterator<CommandInput> commands,
+                                        final int resumedAt,
+                                        final ObjectMapper objectMapper,
+                                        final ArrayNode outputs) throws IOException {
+        Integer parallelism = Integer.getInteger(CommandActors.PARALLELISM_PROPERTY);
+        if (parallelism != null) {
+            performCommandsOnActors(commands, resumedAt, objectMapper, outputs, parallelism);
+            return;
+        }
+        String snapshotFile = System.getProperty(SimulationSnapshot.SAVE_PROPERTY);
+        int snapshotAt = Integer.getInteger(SimulationSnapshot.AT_PROPERTY, Integer.MAX_VALUE);
         ObjectNode outNode;
-        for (CommandInput command : commands) {
-            TimeManager.getInstance().setTime(command.getTimestamp());
-            CommandType commandType = command.getCommand();
-            String username = command.getUsername();
-
-            if (commandType.equals(CommandType.printCurrentPage)) {
-                NormalUser user = NormalUsersLibrary.getInstance().getUserByName(username);
-                assert user != null;
-                PageOutput pageOut = user.performPrintCurrentPage(command);
-                outNode = objectMapper.valueToTree(pageOut);
-                outputs.add(outNode);
-            } else {
-                CommandHandler commandHandler = CommandManagerFactory
-                        .createManager(commandType, username);
-                if (commandHandler != null) {
-                    Output out = commandHandler.performCommand(command);
+        CommandBatches batches = new CommandBatches(commands, resumedAt);
+        while (batches.hasNext()) {
+            List<CommandInput> batch = batches.next();
+            int timestamp = batch.get(0).getTimestamp();
+            if (snapshotFile != null && timestamp > snapshotAt) {
+                SimulationSnapshot.save(new File(snapshotFile));
+                snapshotFile = null;
+            }
+            int previousTime = TimeManager.getInstance().getTime();
+            TimeManager.getInstance().setTime(timestamp);
+            RecommendationBatch.refreshIfDue(previousTime, timestamp);
+            for (int i = 0; i < batch.size(); i++) {
+                CommandInput command = batch.get(i);
+                if (i > 0) {
+                    CommandActors.catchUp(command);
+                }
+                Object out = performCommand(command);
+                if (out != null) {
                     outNode = objectMapper.valueToTree(out);
                     outputs.add(outNode);
                 }
             }
         }
+        if (snapshotFile != null) {
+            SimulationSnapshot.save(new File(snapshotFile));
+        }
+    }
 
-        Output endProgram = End.performEndProgram();
-        outNode = objectMapper.valueToTree(endProgram);
-        outputs.add(outNode);
-        ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
-        objectWriter.writeValue(new File(filePathOutput), outputs);
+    /**
+     * Performs the commands in actor mode, adding their outputs in the order of the commands
+     * The commands of a batch are sent to the actors together, while moving the clock is a
+     * barrier: it only moves once all the commands of the batch before were performed
+     *
+     * @param commands     The commands to be performed
+     * @param resumedAt    The timestamp of the snapshot the state was loaded from,
+     *                     the commands up to it are skipped
+     * @param objectMapper The mapper used to convert the outputs
+     * @param outputs      The outputs of the commands
+     * @param parallelism  The number of threads the actors run on
+     * @throws IOException if the snapshot can't be saved
+     * @see CommandActors
+     */
+    private static void performCommandsOnActors(final Iterator<CommandInput> commands,
+                                                final int resumedAt,
+                                                final ObjectMapper objectMapper,
+                                                final ArrayNode outputs,
+                                                final int parallelism) throws IOException {
+        String snapshotFile = System.getProperty(SimulationSnapshot.SAVE_PROPERTY);
+        int snapshotAt = Integer.getInteger(SimulationSnapshot.AT_PROPERTY, Integer.MAX_VALUE);
+        ArrayList<CompletableFuture<JsonNode>> outNodes = new ArrayList<>();
+        try (CommandActors actors = new CommandActors(parallelism,
+                command -> objectMapper.valueToTree(performCommand(command)))) {
+            CommandBatches batches = new CommandBatches(commands, resumedAt);
+            while (batches.hasNext()) {
+                List<CommandInput> batch = batches.next();
+                int timestamp = batch.get(0).getTimestamp();
+                actors.awaitIdle();
+                if (snapshotFile != null && timestamp > snapshotAt) {
+                    SimulationSnapshot.save(new File(snapshotFile));
+                    snapshotFile = null;
+                }
+                int previousTime = TimeManager.getInstance().getTime();
+                TimeManager.getInstance().setTime(timestamp);
+                RecommendationBatch.refreshIfDue(previousTime, timestamp);
+                for (int i = 0; i < batch.size(); i++) {
+                    outNodes.add(actors.submit(batch.get(i), i > 0));
+                }
+            }
+            actors.awaitIdle();
+        }
+        for (CompletableFuture<JsonNode> outNode : outNodes) {
+            JsonNode out = outNode.join();
+            if (out != null && !out.isNull()) {
+                outputs.add(out);
+            }
+        }
+        if (snapshotFile != null) {
+            SimulationSnapshot.save(new File(snapshotFile));
+        }
+    }
+
+    /**
+     * Performs a single command at the current time
+     *
+     * @param command The command to be performed
+     * @return The output of the command, or {@code null} if no handler performs it
+     */
+    static Object performCommand(final CommandInput command) {
+        CommandType commandType = command.getCommand();
+        String username = command.getUsername();
+
+        if (commandType.equals(CommandType.printCurrentPage)) {
+            NormalUser user = NormalUsersLibrary.getInstance().getUserByName(username);
+            assert user != null;
+            return user.performPrintCurrentPage(command);
+        }
+        CommandHandler commandHandler = CommandManagerFactory
+                .createManager(commandType, username);
+        if (commandHandler == null) {
+            return null;
+        }
+        return commandHandler.performCommand(command);
     }
 
     /**
      * Resets or sets the libraries in the application.
+     * When the {@value CatalogSegment#PROPERTY} system property is set, the metadata of
+     * the songs and episodes is kept in a catalog segment written to that file
      *
      * @param library The source library containing initial data.
+     * @throws IOException if the catalog segment can't be written
      */
-    public static void resetLibraries(final LibraryInput library) {
-        resetSongs(library);
-        resetPodcasts(library);
+    public static void resetLibraries(final LibraryInput library) throws IOException {
+        PlayerManager.resetLoadStates();
+        String catalogPath = System.getProperty(CatalogSegment.PROPERTY);
+        if (catalogPath != null) {
+            ArrayList<EpisodeInput> episodes = new ArrayList<>();
+            library.getPodcasts().forEach(podcast -> episodes.addAll(podcast.getEpisodes()));
+            CatalogSegment catalog = CatalogSegment.build(new File(catalogPath),
+                    library.getSongs(), episodes);
+            resetSongs(library, catalog);
+            resetPodcasts(library, catalog);
+        } else {
+            resetSongs(library);
+            resetPodcasts(library);
+        }
         resetPlaylists();
         resetUsers(library);
         resetAlbums();
@@ -173,6 +328,21 @@ public final class Main {
         SongsLibrary.setAdDuration(adDuration);
     }
 
+    /**
+     * Resets the SongsLibrary with songs whose metadata is kept in a catalog segment
+     *
+     * @param library The source library containing initial song data.
+     * @param catalog The catalog segment with a record for every song, in library order
+     */
+    private static void resetSongs(final LibraryInput library, final CatalogSegment catalog) {
+        ArrayList<Song> songs = new ArrayList<>(library.getSongs().size());
+        for (int i = 0; i < library.getSongs().size(); i++) {
+            songs.add(new Song(catalog, i));
+        }
+        SongsLibrary.getInstance().setItems(songs);
+        SongsLibrary.setAdDuration(songs.get(0).getDuration());
+    }
+
     /**
      * Resets the PodcastsLibrary by creating new Podcast instances based on the input library.
      *
@@ -184,6 +354,22 @@ public final class Main {
         PodcastsLibrary.getInstance().setItems(podcasts);
     }
 
+    /**
+     * Resets the PodcastsLibrary with episodes whose metadata is kept in a catalog segment
+     *
+     * @param library The source library containing initial podcast data.
+     * @param catalog The catalog segment with a record for every episode, in library order
+     */
+    private static void resetPodcasts(final LibraryInput library, final CatalogSegment catalog) {
+        ArrayList<Podcast> podcasts = new ArrayList<>();
+        int firstEpisode = 0;
+        for (PodcastInput podcastInput : library.getPodcasts()) {
+            podcasts.add(new Podcast(podcastInput, catalog, firstEpisode));
+            firstEpisode += podcastInput.getEpisodes().size();
+        }
+        PodcastsLibrary.getInstance().setItems(podcasts);
+    }
+
     /**
      * Resets the PlaylistsLibrary by creating an empty ArrayList.
      */
@@ -22,21 +22,21 @@ import java.util.stream.Collectors;
 
 public final class GeneralStatisticsManager implements CommandHandler {
     private static final int NUMBER_TOP_RESULTS = 5;
-    private static GeneralStatisticsManager instance;
 
     private GeneralStatisticsManager() {
     }
 
+    private static final class InstanceHolder {
+        private static final GeneralStatisticsManager INSTANCE = new GeneralStatisticsManager();
+    }
+
     /**
      * Get the instance for this class
      *
      * @return the instance
      */
-    public static synchronized GeneralStatisticsManager getInstance() {
-        if (instance == null) {
-            instance = new GeneralStatisticsManager();
-        }
-        return instance;
+    public static GeneralStatisticsManager getInstance() {
+        return InstanceHolder.INSTANCE;
     }
 
     /**
@@ -105,7 +105,7 @@ public final class GeneralStatisticsManager implements CommandHandler {
      * @return An Output object containing the result of the operation (list of top 5 albums).
      */
     public static Output performGetTop5Albums(final CommandInput command) {
-        ArrayList<Album> albums = AlbumsLibrary.getInstance().getItems();
+        List<Album> albums = AlbumsLibrary.getInstance().getItems();
         List<Album> top5Albums = albums.stream()
                 .sorted(Comparator.comparingInt(Album::getTotalLikes).reversed()
                         .thenComparing(Album::getName))
@@ -125,7 +125,7 @@ public final class GeneralStatisticsManager implements CommandHandler {
      * @return An Output object containing the result of the operation (list of top 5 artists).
      */
     public static Output performGetTop5Artists(final CommandInput command) {
-        ArrayList<Artist> artists = ArtistsLibrary.getInstance().getItems();
+        List<Artist> artists = ArtistsLibrary.getInstance().getItems();
         List<Artist> top5Artists = artists.stream()
                 .sorted(Comparator.comparingInt(Artist::getTotalLikes).reversed()
                         .thenComparing(Artist::getName))
@@ -2,29 +2,41 @@ package managers;
 
 import lombok.Getter;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 
 /**
  * Class for time management
  */
-public final class TimeManager {
-    private static TimeManager instance = null;
+public final class TimeManager implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     @Getter
     private int currentTime = 0;
     private final ArrayList<TimeChangeListener> timeChangeListeners = new ArrayList<>();
 
     private TimeManager() { }
 
+    private static final class InstanceHolder {
+        private static volatile TimeManager instance = new TimeManager();
+    }
+
     /**
      * Initialize and get the instance for the {@code TimeManagement} class
      *
      * @return the instance
      */
-    public static synchronized TimeManager getInstance() {
-        if (instance == null) {
-            instance = new TimeManager();
-        }
-        return instance;
+    public static TimeManager getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /**
+     * Replaces the instance with one restored from a snapshot
+     *
+     * @param restored The restored instance
+     */
+    public static void restoreInstance(final TimeManager restored) {
+        InstanceHolder.instance = restored;
     }
 
     /**
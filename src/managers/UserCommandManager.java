@@ -8,21 +8,20 @@ import managers.commands.CommandHandler;
 import entities.user.User;
 
 public final class UserCommandManager implements CommandHandler {
-    private static UserCommandManager instance;
-
     private UserCommandManager() {
     }
 
+    private static final class InstanceHolder {
+        private static final UserCommandManager INSTANCE = new UserCommandManager();
+    }
+
     /**
      * Get the instance for this class
      *
      * @return the instance
      */
-    public static synchronized UserCommandManager getInstance() {
-        if (instance == null) {
-            instance = new UserCommandManager();
-        }
-        return instance;
+    public static UserCommandManager getInstance() {
+        return InstanceHolder.INSTANCE;
     }
 
     /**
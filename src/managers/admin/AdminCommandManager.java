@@ -26,21 +26,20 @@ import java.util.LinkedHashSet;
 import java.util.List;
 
 public final class AdminCommandManager implements CommandHandler {
-    private static AdminCommandManager instance;
-
     private AdminCommandManager() {
     }
 
+    private static final class InstanceHolder {
+        private static final AdminCommandManager INSTANCE = new AdminCommandManager();
+    }
+
     /**
      * Gets the instance of this class
      *
      * @return the instance
      */
-    public static synchronized AdminCommandManager getInstance() {
-        if (instance == null) {
-            instance = new AdminCommandManager();
-        }
-        return instance;
+    public static AdminCommandManager getInstance() {
+        return InstanceHolder.INSTANCE;
     }
 
     /**
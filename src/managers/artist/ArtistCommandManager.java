@@ -15,21 +15,20 @@ import java.util.ArrayList;
 import java.util.stream.Collectors;
 
 public final class ArtistCommandManager implements CommandHandler {
-    private static ArtistCommandManager instance;
-
     private ArtistCommandManager() {
     }
 
+    private static final class InstanceHolder {
+        private static final ArtistCommandManager INSTANCE = new ArtistCommandManager();
+    }
+
     /**
      * Gets the instance for this class
      *
      * @return the instance
      */
-    public static synchronized ArtistCommandManager getInstance() {
-        if (instance == null) {
-            instance = new ArtistCommandManager();
-        }
-        return instance;
+    public static ArtistCommandManager getInstance() {
+        return InstanceHolder.INSTANCE;
     }
 
     /**
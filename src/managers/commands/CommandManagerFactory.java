@@ -14,10 +14,106 @@ import managers.normalUser.PageSystemManager;
 import entities.user.NormalUser;
 import managers.normalUser.PurchaseManager;
 
+import java.util.EnumMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Resolves the handler of every command type through a table built once
+ * Every command type is registered with a route, which either returns a global manager,
+ * or looks up the user issuing the command and returns one of the managers of their app
+ */
 public final class CommandManagerFactory {
+    private static final EnumMap<CommandType, Route> ROUTES = new EnumMap<>(CommandType.class);
+
+    static {
+        global(GeneralStatisticsManager::getInstance,
+                CommandType.getTop5Playlists, CommandType.getTop5Songs,
+                CommandType.getOnlineUsers, CommandType.getAllUsers,
+                CommandType.getTop5Albums, CommandType.getTop5Artists);
+        global(AdminCommandManager::getInstance,
+                CommandType.addUser, CommandType.deleteUser, CommandType.showPodcasts,
+                CommandType.showAlbums, CommandType.buyPremium, CommandType.cancelPremium,
+                CommandType.adBreak);
+        global(ArtistCommandManager::getInstance,
+                CommandType.addAlbum, CommandType.addEvent, CommandType.addMerch,
+                CommandType.removeAlbum, CommandType.removeEvent);
+        global(ConnectionStatusManager::getInstance, CommandType.switchConnectionStatus);
+        global(PageSystemManager::getInstance,
+                CommandType.changePage, CommandType.subscribe, CommandType.previousPage,
+                CommandType.nextPage, CommandType.updateRecommendations);
+        global(HostCommandManager::getInstance,
+                CommandType.addAnnouncement, CommandType.addPodcast,
+                CommandType.removeAnnouncement, CommandType.removePodcast);
+        global(UserCommandManager::getInstance, CommandType.wrapped);
+        global(NotificationsManager::getInstance, CommandType.getNotifications);
+        global(PurchaseManager::getInstance, CommandType.buyMerch, CommandType.seeMerch);
+
+        perUser(AppManager::getSearchBarManager, CommandType.search, CommandType.select);
+        perUser(AppManager::getPlayerManager,
+                CommandType.addRemoveInPlaylist, CommandType.backward, CommandType.forward,
+                CommandType.like, CommandType.load, CommandType.next, CommandType.prev,
+                CommandType.repeat, CommandType.status, CommandType.shuffle,
+                CommandType.playPause, CommandType.switchVisibility,
+                CommandType.loadRecommendations);
+        perUser(AppManager::getPlaylistManager,
+                CommandType.createPlaylist, CommandType.showPlaylists, CommandType.follow,
+                CommandType.showPreferredSongs);
+    }
+
     private CommandManagerFactory() {
     }
 
+    /**
+     * How the handler of a command type is reached
+     */
+    @FunctionalInterface
+    private interface Route {
+        /**
+         * Resolves the handler for a command
+         *
+         * @param username The username associated with the command
+         * @return The handler that performs the command
+         */
+        CommandHandler resolve(String username);
+    }
+
+    /**
+     * Registers command types handled by a global (singleton) manager
+     *
+     * @param manager      Gets the manager instance
+     * @param commandTypes The command types handled by the manager
+     */
+    private static void global(final Supplier<? extends CommandHandler> manager,
+                               final CommandType... commandTypes) {
+        for (CommandType commandType : commandTypes) {
+            register(commandType, username -> manager.get());
+        }
+    }
+
+    /**
+     * Registers command types handled by one of the managers of the user's app
+     *
+     * @param manager      Gets the manager from the user's app
+     * @param commandTypes The command types handled by the manager
+     */
+    private static void perUser(final Function<AppManager, ? extends CommandHandler> manager,
+                                final CommandType... commandTypes) {
+        for (CommandType commandType : commandTypes) {
+            register(commandType, username -> {
+                NormalUser user = NormalUsersLibrary.getInstance().getUserByName(username);
+                assert user != null;
+                return manager.apply(user.getApp());
+            });
+        }
+    }
+
+    private static void register(final CommandType commandType, final Route route) {
+        if (ROUTES.putIfAbsent(commandType, route) != null) {
+            throw new IllegalStateException("Command type registered twice: " + commandType);
+        }
+    }
+
     /**
      * Creates a CommandHandler based on the specified CommandType and username.
      *
@@ -29,42 +125,10 @@ public final class CommandManagerFactory {
      */
     public static CommandHandler createManager(final CommandType commandType,
                                                final String username) {
-        return switch (commandType) {
-            case getTop5Playlists, getTop5Songs, getOnlineUsers, getAllUsers, getTop5Albums,
-                    getTop5Artists
-                    -> GeneralStatisticsManager.getInstance();
-            case addUser, deleteUser, showPodcasts, showAlbums, buyPremium, cancelPremium,
-                    adBreak
-                    -> AdminCommandManager.getInstance();
-            case addAlbum, addEvent, addMerch, removeAlbum, removeEvent
-                    -> ArtistCommandManager.getInstance();
-            case switchConnectionStatus
-                    -> ConnectionStatusManager.getInstance();
-            case changePage, subscribe, previousPage, nextPage, updateRecommendations
-                    -> PageSystemManager.getInstance();
-            case addAnnouncement, addPodcast, removeAnnouncement,
-                    removePodcast
-                    -> HostCommandManager.getInstance();
-            case wrapped -> UserCommandManager.getInstance();
-            case getNotifications -> NotificationsManager.getInstance();
-            case buyMerch, seeMerch -> PurchaseManager.getInstance();
-            default -> {
-                NormalUser user = NormalUsersLibrary.getInstance().getUserByName(username);
-                assert user != null;
-                AppManager app = user.getApp();
-                yield switch (commandType) {
-                    case search, select
-                            -> app.getSearchBarManager();
-                    case addRemoveInPlaylist, backward, forward, like, load, next, prev,
-                            repeat, status, shuffle, playPause, switchVisibility,
-                            loadRecommendations
-                            -> app.getPlayerManager();
-                    case createPlaylist, showPlaylists, follow, showPreferredSongs
-                            -> app.getPlaylistManager();
-                    default -> throw new IllegalArgumentException("Unknown command type: "
-                            + commandType);
-                };
-            }
-        };
+        Route route = ROUTES.get(commandType);
+        if (route == null) {
+            throw new IllegalArgumentException("Unknown command type: " + commandType);
+        }
+        return route.resolve(username);
     }
 }
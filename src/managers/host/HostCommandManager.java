@@ -14,19 +14,19 @@ import java.util.ArrayList;
 import java.util.stream.Collectors;
 
 public final class HostCommandManager implements CommandHandler {
-    private static HostCommandManager instance;
     private HostCommandManager() {
     }
 
+    private static final class InstanceHolder {
+        private static final HostCommandManager INSTANCE = new HostCommandManager();
+    }
+
     /**
      * Gets the instance for this class
      * @return the instance
      */
-    public static synchronized HostCommandManager getInstance() {
-        if (instance == null) {
-            instance = new HostCommandManager();
-        }
-        return instance;
+    public static HostCommandManager getInstance() {
+        return InstanceHolder.INSTANCE;
     }
     /**
      * Performs the add podcast command, adding a new podcast with the specified episodes.
@@ -5,8 +5,12 @@ import commands.normalUser.pageNavigation.PageType;
 import lombok.Getter;
 import statistics.listenTrackers.ListenTrackerNormalUser;
 
+import java.io.Serializable;
+
 @Getter
-public final class AppManager {
+public final class AppManager implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final String userOfflineMessage;
     private final PlaylistManager playlistManager = new PlaylistManager(this);
     private final CommandManager commandManager = new CommandManager(this);
@@ -19,7 +19,11 @@ import commands.normalUser.searchBar.audio.SelectAudio;
 import commands.normalUser.searchBar.user.SearchUser;
 import commands.normalUser.searchBar.user.SelectUser;
 
-public final class CommandManager {
+import java.io.Serializable;
+
+public final class CommandManager implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final AppManager app;
     private AddRemoveInPlaylist addRemoveInPlaylist = null;
     private Backward backward = null;
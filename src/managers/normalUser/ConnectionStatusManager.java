@@ -7,21 +7,20 @@ import fileio.output.Output;
 import managers.commands.CommandHandler;
 
 public final class ConnectionStatusManager implements CommandHandler {
-    private static ConnectionStatusManager instance;
-
     private ConnectionStatusManager() {
     }
 
+    private static final class InstanceHolder {
+        private static final ConnectionStatusManager INSTANCE = new ConnectionStatusManager();
+    }
+
     /**
      * Gets the instance for this class
      *
      * @return the instance
      */
-    public static synchronized ConnectionStatusManager getInstance() {
-        if (instance == null) {
-            instance = new ConnectionStatusManager();
-        }
-        return instance;
+    public static ConnectionStatusManager getInstance() {
+        return InstanceHolder.INSTANCE;
     }
 
     /**
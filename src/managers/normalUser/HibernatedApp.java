@@ -0,0 +1,168 @@
+package managers.normalUser;
+
+import entities.Entity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The app of a user while it's hibernated
+ * The app and the progress of the user's collections are serialized into a compressed record,
+ * so an app that isn't used takes a few hundred bytes instead of its whole object graph
+ * Entities (songs, episodes, collections and users) are shared with the libraries and the
+ * other users, so they aren't copied into the record: they are written as indexes in a table
+ * of references, and the same objects are put back when the app is rehydrated
+ * The app of a user is hibernated once it wasn't addressed for the time given by the
+ * {@value #IDLE_PROPERTY} system property, if its player doesn't react to time
+ */
+public final class HibernatedApp implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final String IDLE_PROPERTY = "app.hibernateAfter";
+
+    private final byte[] state;
+    private final Entity[] entities;
+    private final boolean online;
+    /**
+     * The tracker of the hibernated player, replaced by its copy when the app is rehydrated
+     */
+    private final transient LoadStateTracker loadState;
+
+    private HibernatedApp(final byte[] state, final Entity[] entities, final boolean online,
+                          final LoadStateTracker loadState) {
+        this.state = state;
+        this.entities = entities;
+        this.online = online;
+        this.loadState = loadState;
+    }
+
+    /**
+     * Checks if an app can be hibernated without missing anything
+     * Its player ignores time while the user is offline or nothing is playing
+     *
+     * @param app The app
+     * @return {@code true} if the app can be hibernated
+     */
+    public static boolean canHibernate(final AppManager app) {
+        return !app.isOnline() || app.getPlayerManager().getPlayingAudio() == null;
+    }
+
+    /**
+     * Compacts an app into a record
+     * The app and the progress manager must not be used afterwards
+     *
+     * @param app      The app of the user
+     * @param progress The progress manager of the user, or {@code null} if it wasn't created
+     * @return The record
+     * @throws IllegalStateException if the app can't be serialized
+     */
+    public static HibernatedApp hibernate(final AppManager app, final ProgressManager progress) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        ArrayList<Entity> entities;
+        try (EntityWriter out = new EntityWriter(new DeflaterOutputStream(bytes, deflater))) {
+            out.writeObject(app);
+            out.writeObject(progress);
+            entities = out.entities;
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't hibernate an app", e);
+        } finally {
+            deflater.end();
+        }
+        return new HibernatedApp(bytes.toByteArray(), entities.toArray(new Entity[0]),
+                app.isOnline(), app.getPlayerManager().getLoadState());
+    }
+
+    /**
+     * Rebuilds the app and the progress manager of the user
+     *
+     * @return The app and the progress manager
+     * @throws IllegalStateException if the record can't be read
+     */
+    public Rehydrated rehydrate() {
+        try (EntityReader in = new EntityReader(
+                new InflaterInputStream(new ByteArrayInputStream(state)), entities)) {
+            AppManager app = (AppManager) in.readObject();
+            ProgressManager progress = (ProgressManager) in.readObject();
+            if (loadState != null) {
+                loadState.unregister();
+            }
+            return new Rehydrated(app, progress);
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Can't rehydrate a hibernated app", e);
+        }
+    }
+
+    /**
+     * Checks if the user was online when the app was hibernated
+     *
+     * @return {@code true} if the user is online
+     */
+    public boolean isOnline() {
+        return online;
+    }
+
+    /**
+     * The state rebuilt from a record
+     *
+     * @param app      The app of the user
+     * @param progress The progress manager of the user, or {@code null}
+     */
+    public record Rehydrated(AppManager app, ProgressManager progress) {
+    }
+
+    /**
+     * The index of an entity in the table of references
+     *
+     * @param index The index
+     */
+    private record EntityRef(int index) implements Serializable {
+    }
+
+    private static final class EntityWriter extends ObjectOutputStream {
+        private final IdentityHashMap<Entity, EntityRef> refs = new IdentityHashMap<>();
+        private final ArrayList<Entity> entities = new ArrayList<>();
+
+        EntityWriter(final OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(final Object obj) {
+            if (!(obj instanceof Entity entity)) {
+                return obj;
+            }
+            return refs.computeIfAbsent(entity, key -> {
+                entities.add(key);
+                return new EntityRef(entities.size() - 1);
+            });
+        }
+    }
+
+    private static final class EntityReader extends ObjectInputStream {
+        private final Entity[] entities;
+
+        EntityReader(final InputStream in, final Entity[] entities) throws IOException {
+            super(in);
+            this.entities = entities;
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Object resolveObject(final Object obj) {
+            return obj instanceof EntityRef ref ? entities[ref.index()] : obj;
+        }
+    }
+}
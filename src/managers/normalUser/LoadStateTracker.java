@@ -0,0 +1,180 @@
+package managers.normalUser;
+
+import actors.ActorSystem;
+import entities.audio.Audio;
+import entities.audio.Song;
+import entities.audio.collections.Collection;
+import libraries.GenericLibrary;
+import libraries.audio.AlbumsLibrary;
+import libraries.audio.PlaylistsLibrary;
+import libraries.audio.PodcastsLibrary;
+import libraries.audio.SongsLibrary;
+import playables.PlayingAudio;
+import playables.PlayingAudioCollection;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Keeps the loaded counts of songs and collections in sync with what a player has loaded
+ * The counts are only updated when the loaded song or collection actually changes
+ * The counts are shared by all the players, so in actor mode they are changed on the actor
+ * that owns the usage counts
+ * When the {@value #VERIFY_PROPERTY} system property is set, every update outside actors
+ * is checked against a full recount over all the players
+ */
+final class LoadStateTracker implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    static final String VERIFY_PROPERTY = "player.verifyLoadedCounts";
+    private static final boolean VERIFY = Boolean.getBoolean(VERIFY_PROPERTY);
+    private static final List<LoadStateTracker> TRACKERS = new ArrayList<>();
+
+    private Audio loadedAudio;
+    private Song loadedSong;
+    private Collection<?> loadedCollection;
+
+    LoadStateTracker() {
+        register();
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException,
+            ClassNotFoundException {
+        in.defaultReadObject();
+        register();
+    }
+
+    private void register() {
+        if (VERIFY) {
+            synchronized (TRACKERS) {
+                TRACKERS.add(this);
+            }
+        }
+    }
+
+    /**
+     * Forgets the trackers of the players from a previous simulation
+     */
+    static void clear() {
+        synchronized (TRACKERS) {
+            TRACKERS.clear();
+        }
+    }
+
+    /**
+     * Stops counting this tracker in the recounts, once a copy of it took its place
+     * or its player was released
+     */
+    void unregister() {
+        if (VERIFY) {
+            synchronized (TRACKERS) {
+                TRACKERS.remove(this);
+            }
+        }
+    }
+
+    /**
+     * Updates the loaded counts after the state of the player might have changed
+     *
+     * @param playingAudio      The audio file playing in the player, or {@code null}
+     * @param playingCollection The collection playing in the player, or {@code null}
+     */
+    void update(final PlayingAudio<? extends Audio> playingAudio,
+                final PlayingAudioCollection<? extends Collection<? extends Audio>>
+                        playingCollection) {
+        Audio audio = playingAudio == null ? null : playingAudio.getPlayingObject();
+        Collection<?> collection =
+                playingCollection == null ? null : playingCollection.getPlayingCollection();
+        if (audio == loadedAudio && collection == loadedCollection) {
+            return;
+        }
+        if (audio != loadedAudio) {
+            Song song = audio instanceof Song ? (Song) audio : null;
+            if (song != loadedSong) {
+                Song unloadedSong = loadedSong;
+                ActorSystem.sendToUsageCounts(() -> {
+                    if (unloadedSong != null) {
+                        unloadedSong.decrementLoadedCount();
+                    }
+                    if (song != null) {
+                        song.incrementLoadedCount();
+                    }
+                });
+                loadedSong = song;
+            }
+            loadedAudio = audio;
+        }
+        if (collection != loadedCollection) {
+            Collection<?> unloadedCollection = loadedCollection;
+            ActorSystem.sendToUsageCounts(() -> {
+                if (unloadedCollection != null) {
+                    unloadedCollection.decrementLoadedCount();
+                }
+                if (collection != null) {
+                    collection.incrementLoadedCount();
+                }
+            });
+            loadedCollection = collection;
+        }
+        if (VERIFY && !ActorSystem.isOnActor()) {
+            verifyLoadedCounts();
+        }
+    }
+
+    /**
+     * Recounts how many players have each song and collection loaded
+     * and compares the result with the loaded counts
+     *
+     * @throws IllegalStateException if any of the loaded counts is wrong
+     */
+    static void verifyLoadedCounts() {
+        HashMap<Song, Integer> songCounts = new HashMap<>();
+        HashMap<Collection<?>, Integer> collectionCounts = new HashMap<>();
+        synchronized (TRACKERS) {
+            for (LoadStateTracker tracker : TRACKERS) {
+                if (tracker.loadedSong != null) {
+                    songCounts.merge(tracker.loadedSong, 1, Integer::sum);
+                }
+                if (tracker.loadedCollection != null) {
+                    collectionCounts.merge(tracker.loadedCollection, 1, Integer::sum);
+                }
+            }
+        }
+        songCounts.forEach((song, expected) ->
+                checkCount(song, song.getLoadedCount(), expected));
+        collectionCounts.forEach((collection, expected) ->
+                checkCount(collection, collection.getLoadedCount(), expected));
+        checkNotLoaded(SongsLibrary.getInstance(), songCounts, Song::getLoadedCount);
+        checkNotLoaded(AlbumsLibrary.getInstance(), collectionCounts, Collection::getLoadedCount);
+        checkNotLoaded(PlaylistsLibrary.getInstance(), collectionCounts,
+                Collection::getLoadedCount);
+        checkNotLoaded(PodcastsLibrary.getInstance(), collectionCounts,
+                Collection::getLoadedCount);
+    }
+
+    private static void checkCount(final Object item, final int actual, final int expected) {
+        if (actual != expected) {
+            throw new IllegalStateException("Loaded count for " + item + " is " + actual
+                    + ", expected " + expected);
+        }
+    }
+
+    private static <E> void checkNotLoaded(final GenericLibrary<E> library,
+                                           final Map<?, Integer> loadedItems,
+                                           final ToIntFunction<? super E> loadedCount) {
+        if (library.getItems() == null) {
+            return;
+        }
+        for (E item : library.getItems()) {
+            if (!loadedItems.containsKey(item)) {
+                checkCount(item, loadedCount.applyAsInt(item), 0);
+            }
+        }
+    }
+}
@@ -11,21 +11,20 @@ import java.util.ArrayList;
 import java.util.HashMap;
 
 public final class NotificationsManager implements CommandHandler {
-    private static NotificationsManager instance;
-
     private NotificationsManager() {
     }
 
+    private static final class InstanceHolder {
+        private static final NotificationsManager INSTANCE = new NotificationsManager();
+    }
+
     /**
      * Gets the instance for this class
      *
      * @return the instance
      */
-    public static synchronized NotificationsManager getInstance() {
-        if (instance == null) {
-            instance = new NotificationsManager();
-        }
-        return instance;
+    public static NotificationsManager getInstance() {
+        return InstanceHolder.INSTANCE;
     }
 
     /**
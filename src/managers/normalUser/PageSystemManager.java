@@ -14,23 +14,23 @@ import libraries.users.NormalUsersLibrary;
 import libraries.users.UsersLibrariesStats;
 import managers.commands.CommandHandler;
 import recommendation.Recommendation;
+import recommendation.RecommendationType;
 
 public final class PageSystemManager implements CommandHandler {
-    private static PageSystemManager instance;
-
     private PageSystemManager() {
     }
 
+    private static final class InstanceHolder {
+        private static final PageSystemManager INSTANCE = new PageSystemManager();
+    }
+
     /**
      * Gets the instance fo this class
      *
      * @return the instance
      */
-    public static synchronized PageSystemManager getInstance() {
-        if (instance == null) {
-            instance = new PageSystemManager();
-        }
-        return instance;
+    public static PageSystemManager getInstance() {
+        return InstanceHolder.INSTANCE;
     }
 
     /**
@@ -129,9 +129,10 @@ public final class PageSystemManager implements CommandHandler {
             return new Output(command, message);
         }
 
-        String recommendationType = command.getRecommendationType();
+        RecommendationType recommendationType =
+                RecommendationType.fromString(command.getRecommendationType());
         switch (recommendationType) {
-            case "fans_playlist" -> {
+            case fansPlaylist -> {
                 Playlist playlist = Recommendation.fansRecommendations(normalUser);
                 normalUser.addRecommendedPlaylist(playlist);
                 if (playlist.getCollection().isEmpty()) {
@@ -139,7 +140,7 @@ public final class PageSystemManager implements CommandHandler {
                     return new Output(command, message);
                 }
             }
-            case "random_playlist" -> {
+            case randomPlaylist -> {
                 Playlist playlist = Recommendation.randomPlaylist(normalUser);
                 if (playlist.getCollection().isEmpty()) {
                     message = "No new recommendations were found";
@@ -147,7 +148,7 @@ public final class PageSystemManager implements CommandHandler {
                 }
                 normalUser.addRecommendedPlaylist(playlist);
             }
-            case "random_song" -> {
+            case randomSong -> {
                 Song song = Recommendation.randomSong(normalUser);
                 if (song != null) {
                     normalUser.addRecommendedSong(song);
@@ -164,7 +165,6 @@ public final class PageSystemManager implements CommandHandler {
         return new Output(command, message);
     }
 
-
     @Override
     public Output performCommand(final CommandInput command) {
         CommandType type = command.getCommand();
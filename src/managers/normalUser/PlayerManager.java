@@ -28,13 +28,13 @@ import libraries.users.NormalUsersLibrary;
 import lombok.Getter;
 import managers.CheckClass;
 import managers.TimeChangeListener;
-import managers.TimeManager;
 import managers.commands.CommandHandler;
 import playables.PlayingAudio;
 import playables.PlayingAudioCollection;
 import statistics.calculator.FreeSongCalculateRevenue;
 import statistics.calculator.RevenueCalculator;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -43,12 +43,18 @@ import java.util.TreeMap;
 /**
  * Class for managing the player
  */
-public final class PlayerManager implements TimeChangeListener, CommandHandler {
-    private static Map<StatusFields, Object> emptyStats = null;
+public final class PlayerManager implements TimeChangeListener, CommandHandler, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Shared by the status of every empty player, so it is built once and only read
+     */
+    private static final Map<StatusFields, Object> EMPTY_STATS = createEmptyStats();
     private final AppManager app;
     private final CommandManager commandManager;
     private final int adDuration = SongsLibrary.getAdDuration();
     private final RevenueCalculator calculator;
+    @Getter
     private boolean adBreak = false;
     @Getter
     private Integer adPrice = 0;
@@ -69,11 +75,11 @@ public final class PlayerManager implements TimeChangeListener, CommandHandler {
     private PlayingAudio<? extends Audio> playingAudio;
     @Getter
     private PlayingAudioCollection<? extends Collection<? extends Audio>> playingCollection;
+    private final LoadStateTracker loadState = new LoadStateTracker();
 
     public PlayerManager(final AppManager parentApp) {
         this.app = parentApp;
         this.commandManager = app.getCommandManager();
-        TimeManager.getInstance().addTimeChangeListener(this);
         calculator = new RevenueCalculator();
     }
 
@@ -125,37 +131,25 @@ public final class PlayerManager implements TimeChangeListener, CommandHandler {
      * @param timeDifference The time passed that should be added
      */
     public void onTimeChangedHelper(final int timeDifference) {
-        if (playingAudio != null) {
-            Map<StatusFields, Object> stats = playingAudio.getStats();
-            int remainedTime = (int) stats.get(StatusFields.remainedTime);
-            if (remainedTime > 0) {
-                decrementLoadedCountForAudio();
-            }
-        }
         if (playingCollection != null) {
             playingCollection.addTimePassed(timeDifference);
             setPlayingAudio(playingCollection.getPlayingNowObject());
             if (!playingCollection.isFinished()) {
                 playingAudio = playingCollection.getPlayingNowObject();
-                incrementLoadedCountForAudio();
             } else {
-                decrementLoadedCountForCollection();
                 playingAudio = null;
                 playingCollection = null;
                 loadedObject = null;
             }
-            return;
-        }
-        if (playingAudio != null) {
+        } else if (playingAudio != null) {
             playingAudio.addTimePassed(timeDifference);
             Map<StatusFields, Object> stats = playingAudio.getStats();
             int remainedTime = (int) stats.get(StatusFields.remainedTime);
-            if (remainedTime > 0) {
-                incrementLoadedCountForAudio();
-            } else {
+            if (remainedTime <= 0) {
                 playingAudio = null;
             }
         }
+        loadState.update(playingAudio, playingCollection);
     }
 
     /**
@@ -215,10 +209,6 @@ public final class PlayerManager implements TimeChangeListener, CommandHandler {
      */
     private void loadHelper(final Load load, final NormalUser user) {
         if (playingAudio != null) {
-            decrementLoadedCountForAudio();
-            if (playingCollection != null) {
-                decrementLoadedCountForCollection();
-            }
             setStatus(PlayerStatus.paused);
             playingAudio.pause();
         }
@@ -232,10 +222,6 @@ public final class PlayerManager implements TimeChangeListener, CommandHandler {
                 setStatus(PlayerStatus.playing);
             }
         }
-        if (playingCollection != null) {
-            incrementLoadedCountForCollection();
-        }
-        incrementLoadedCountForAudio();
     }
 
     /**
@@ -261,12 +247,12 @@ public final class PlayerManager implements TimeChangeListener, CommandHandler {
     public Output performStatus(final CommandInput command) {
         Map<StatusFields, Object> stats;
         if (playingAudio == null) {
-            stats = getEmptyStats();
+            stats = EMPTY_STATS;
         } else {
             stats = playingAudio.getStats();
             int remainedTime = (int) stats.get(StatusFields.remainedTime);
             if (remainedTime == 0) {
-                stats = getEmptyStats();
+                stats = EMPTY_STATS;
             }
         }
         return new Output(command, stats);
@@ -277,15 +263,13 @@ public final class PlayerManager implements TimeChangeListener, CommandHandler {
      *
      * @return The empty stats map
      */
-    private Map<StatusFields, Object> getEmptyStats() {
-        if (emptyStats == null) {
-            emptyStats = new LinkedHashMap<>();
-            emptyStats.put(StatusFields.name, "");
-            emptyStats.put(StatusFields.remainedTime, 0);
-            emptyStats.put(StatusFields.repeat, RepeatType.noRepeat.getValue());
-            emptyStats.put(StatusFields.shuffle, false);
-            emptyStats.put(StatusFields.paused, true);
-        }
+    private static Map<StatusFields, Object> createEmptyStats() {
+        Map<StatusFields, Object> emptyStats = new LinkedHashMap<>();
+        emptyStats.put(StatusFields.name, "");
+        emptyStats.put(StatusFields.remainedTime, 0);
+        emptyStats.put(StatusFields.repeat, RepeatType.noRepeat.getValue());
+        emptyStats.put(StatusFields.shuffle, false);
+        emptyStats.put(StatusFields.paused, true);
         return emptyStats;
     }
 
@@ -370,9 +354,7 @@ public final class PlayerManager implements TimeChangeListener, CommandHandler {
      */
     public Output performNext(final CommandInput command) {
         Next next = commandManager.getNext();
-        decrementLoadedCountForAudio();
         next.execute();
-        incrementLoadedCountForAudio();
         String message = next.getMessage();
         return new Output(command, message);
     }
@@ -386,9 +368,7 @@ public final class PlayerManager implements TimeChangeListener, CommandHandler {
      */
     public Output performPrev(final CommandInput command) {
         Prev prev = commandManager.getPrev();
-        decrementLoadedCountForAudio();
         prev.execute();
-        incrementLoadedCountForAudio();
         String message = prev.getMessage();
         return new Output(command, message);
     }
@@ -470,10 +450,25 @@ public final class PlayerManager implements TimeChangeListener, CommandHandler {
             }
             status = PlayerStatus.idle;
         }
-        decrementLoadedCountForCollection();
-        decrementLoadedCountForAudio();
         playingAudio = null;
         playingCollection = null;
+        loadState.update(null, null);
+    }
+
+    /**
+     * Forgets the players of a previous simulation, so the loaded counts of a new one are
+     * only checked against its own players
+     */
+    public static void resetLoadStates() {
+        LoadStateTracker.clear();
+    }
+
+    /**
+     * Empties the player of a deleted user, which no longer counts as loading anything
+     */
+    public void release() {
+        resetPlayer();
+        loadState.unregister();
     }
 
     public void setPlayingCollection(final PlayingAudioCollection<? extends
@@ -485,41 +480,11 @@ public final class PlayerManager implements TimeChangeListener, CommandHandler {
         this.loadedObject = loadedObject;
     }
 
-    private void decrementLoadedCountForCollection() {
-        if (playingCollection == null) {
-            return;
-        }
-        Collection<?> collection = playingCollection.getPlayingCollection();
-        collection.decrementLoadedCount();
-    }
-
-    private void incrementLoadedCountForCollection() {
-        if (playingCollection == null) {
-            return;
-        }
-        Collection<?> collection = playingCollection.getPlayingCollection();
-        collection.incrementLoadedCount();
-    }
-
-    private void incrementLoadedCountForAudio() {
-        if (playingAudio != null && CheckClass.isSong(playingAudio.getPlayingObject().getClass())) {
-            Song song = (Song) playingAudio.getPlayingObject();
-            song.incrementLoadedCount();
-        }
-    }
-
-    private void decrementLoadedCountForAudio() {
-        if (playingAudio != null && CheckClass.isSong(playingAudio.getPlayingObject().getClass())) {
-            Song song = (Song) playingAudio.getPlayingObject();
-            song.decrementLoadedCount();
-        }
-    }
-
     @Override
     public Output performCommand(final CommandInput command) {
         CommandType commandType = command.getCommand();
 
-        return switch (commandType) {
+        Output output = switch (commandType) {
             case load -> performLoad(command);
             case playPause -> performPlayPause(command);
             case status -> performStatus(command);
@@ -536,6 +501,8 @@ public final class PlayerManager implements TimeChangeListener, CommandHandler {
             default -> throw new IllegalStateException("Unexpected command for "
                     + this.getClass().getSimpleName() + ": " + commandType);
         };
+        loadState.update(playingAudio, playingCollection);
+        return output;
     }
 
     /**
@@ -558,6 +525,10 @@ public final class PlayerManager implements TimeChangeListener, CommandHandler {
         adRemainedTime = 0;
     }
 
+    LoadStateTracker getLoadState() {
+        return loadState;
+    }
+
     /**
      * For the Player status
      */
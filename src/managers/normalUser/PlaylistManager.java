@@ -11,13 +11,16 @@ import libraries.users.NormalUsersLibrary;
 import managers.commands.CommandHandler;
 import entities.user.NormalUser;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Class for managing playlists commands
  */
-public final class PlaylistManager implements CommandHandler {
+public final class PlaylistManager implements CommandHandler, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final AppManager app;
 
     public PlaylistManager(final AppManager parentApp) {
@@ -6,18 +6,22 @@ import managers.CheckClass;
 import playables.PlayingAudioCollection;
 import entities.user.NormalUser;
 
-import java.util.ArrayList;
+import java.io.Serializable;
+import java.util.HashMap;
+
+public final class ProgressManager implements Serializable {
+    private static final long serialVersionUID = 1L;
 
-public final class ProgressManager {
     private final NormalUser user;
 
     public ProgressManager(final NormalUser user) {
         this.user = user;
     }
-    private ArrayList<PlayingAudioCollection<? extends Collection<?>>> inProgressCollections;
+    private HashMap<Collection<?>, PlayingAudioCollection<? extends Collection<? extends Audio>>>
+            inProgressCollections;
 
     private void initInProgressCollections() {
-        inProgressCollections = new ArrayList<>();
+        inProgressCollections = new HashMap<>();
     }
 
     /**
@@ -27,7 +31,7 @@ public final class ProgressManager {
      */
     public void addInProgressCollection(
             final PlayingAudioCollection<? extends Collection<? extends Audio>> playingCollection) {
-        inProgressCollections.add(playingCollection);
+        inProgressCollections.put(playingCollection.getPlayingCollection(), playingCollection);
     }
 
     /**
@@ -43,11 +47,10 @@ public final class ProgressManager {
             initInProgressCollections();
         }
 
-        for (PlayingAudioCollection<? extends Collection<? extends Audio>> playingAudioCollection
-                : inProgressCollections) {
-            if (playingAudioCollection.getPlayingCollection().equals(loadedAudio)) {
-                return playingAudioCollection;
-            }
+        PlayingAudioCollection<? extends Collection<? extends Audio>> playingAudioCollection =
+                inProgressCollections.get(loadedAudio);
+        if (playingAudioCollection != null) {
+            return playingAudioCollection;
         }
         Collection<? extends Audio> loadedCollection = (Collection<? extends Audio>) loadedAudio;
         if (CheckClass.isPodcast(loadedCollection.getClass())) {
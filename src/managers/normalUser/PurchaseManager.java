@@ -9,21 +9,20 @@ import libraries.users.NormalUsersLibrary;
 import managers.commands.CommandHandler;
 
 public final class PurchaseManager implements CommandHandler {
-    private static PurchaseManager instance;
-
     private PurchaseManager() {
     }
 
+    private static final class InstanceHolder {
+        private static final PurchaseManager INSTANCE = new PurchaseManager();
+    }
+
     /**
      * Gets the instance for this class
      *
      * @return the instance
      */
-    public static synchronized PurchaseManager getInstance() {
-        if (instance == null) {
-            instance = new PurchaseManager();
-        }
-        return instance;
+    public static PurchaseManager getInstance() {
+        return InstanceHolder.INSTANCE;
     }
 
     /**
@@ -10,10 +10,13 @@ import fileio.output.Output;
 import lombok.Getter;
 import managers.commands.CommandHandler;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Map;
 
-public final class SearchBarManager implements CommandHandler {
+public final class SearchBarManager implements CommandHandler, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final AppManager app;
     private final PlayerManager playerManager;
     private final CommandManager commandManager;
@@ -1,15 +1,22 @@
 package notifications;
 
-import java.util.HashMap;
-
 public interface Notifiable {
     /**
      * Update the observer (notifiable) once a notification is received
      * The notification will be made by a {@code Notifier}
      *
      * @param notification The notification received
-     * @see Notification
+     * @see NotificationEvent
      * @see Notifier
      */
-    void update(HashMap<String, String> notification);
+    void update(NotificationEvent notification);
+
+    /**
+     * Update the observer once some notifications were left out,
+     * because it didn't retrieve them in time
+     *
+     * @param count The number of notifications that were left out
+     * @see NotificationMailbox
+     */
+    void overflow(long count);
 }
@@ -22,4 +22,17 @@ public final class Notification {
         notification.put("description", "New " + notificationType + " from " + notifier + ".");
         return notification;
     }
+
+    /**
+     * Gets the output that replaces the notifications collapsed because of a full mailbox
+     * @param count The number of collapsed notifications
+     * @return A map with the output of the collapsed notifications
+     * @see NotificationMailbox
+     */
+    public static HashMap<String, String> getCollapsedNotification(final long count) {
+        HashMap<String, String> notification = new HashMap<>();
+        notification.put("name", "Collapsed notifications");
+        notification.put("description", count + " older notifications were collapsed.");
+        return notification;
+    }
 }
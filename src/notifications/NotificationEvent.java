@@ -0,0 +1,58 @@
+package notifications;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An immutable notification, published by a notifier
+ * The sequence number orders all the notifications, no matter who published them
+ *
+ * @param sequence The position of the notification in the order of publishing
+ * @param type     The type of the notification
+ * @param notifier The name of the notifier that sent the notification
+ */
+public record NotificationEvent(long sequence, NotificationType type, String notifier)
+        implements Serializable {
+    private static final AtomicLong NEXT_SEQUENCE = new AtomicLong();
+
+    /**
+     * Creates a new notification, placed after all the previously created ones
+     *
+     * @param type     The type of the notification
+     * @param notifier The name of the notifier that sends the notification
+     * @return The new notification
+     */
+    public static NotificationEvent of(final NotificationType type, final String notifier) {
+        return new NotificationEvent(NEXT_SEQUENCE.getAndIncrement(), type, notifier);
+    }
+
+    /**
+     * Gets the sequence number of the next notification
+     *
+     * @return The next sequence number
+     */
+    public static long peekSequence() {
+        return NEXT_SEQUENCE.get();
+    }
+
+    /**
+     * Continues numbering the notifications from the given sequence number,
+     * after restoring a snapshot
+     *
+     * @param nextSequence The sequence number of the next notification
+     */
+    public static void restoreSequence(final long nextSequence) {
+        NEXT_SEQUENCE.set(nextSequence);
+    }
+
+    /**
+     * Gets the output of the notification
+     *
+     * @return A new map with the output of the notification
+     * @see Notification
+     */
+    public HashMap<String, String> toOutput() {
+        return Notification.getNotification(type, notifier);
+    }
+}
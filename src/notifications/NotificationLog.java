@@ -0,0 +1,129 @@
+package notifications;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The notifications published by a notifier, shared by all of its observers
+ * Publishing a notification only appends it to the log, while every observer keeps
+ * a cursor to the first notification it hasn't received yet
+ * Notifications that were received by all the observers are dropped from the log
+ * The log keeps at most twice the capacity of a mailbox, and an observer receives
+ * at most a mailbox worth of notifications, so idle observers don't make it grow
+ *
+ * @see NotificationMailbox
+ */
+public final class NotificationLog implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final ArrayList<NotificationEvent> events = new ArrayList<>();
+    /**
+     * The position of the first event in the list, counting all the published events
+     */
+    private long start = 0;
+    private final HashMap<Notifiable, Long> cursors = new HashMap<>();
+    private final TreeMap<Long, Integer> cursorCounts = new TreeMap<>();
+
+    /**
+     * Adds an observer, which will receive the notifications published from now on
+     *
+     * @param observer The observer to be added
+     */
+    public void subscribe(final Notifiable observer) {
+        if (!cursors.containsKey(observer)) {
+            moveCursor(observer, end());
+        }
+    }
+
+    /**
+     * Removes an observer
+     *
+     * @param observer The observer to be removed
+     * @return The notifications the observer didn't receive yet
+     */
+    public List<NotificationEvent> unsubscribe(final Notifiable observer) {
+        List<NotificationEvent> pending = receive(observer);
+        Long cursor = cursors.remove(observer);
+        if (cursor != null) {
+            releaseCursor(cursor);
+            trim();
+        }
+        return pending;
+    }
+
+    /**
+     * Publishes a notification for all the current observers
+     *
+     * @param event The notification to be published
+     */
+    public void publish(final NotificationEvent event) {
+        if (cursors.isEmpty()) {
+            start++;
+            return;
+        }
+        events.add(event);
+        int capacity = NotificationMailbox.getCapacity();
+        if (events.size() >= 2 * capacity) {
+            int dropped = events.size() - capacity;
+            events.subList(0, dropped).clear();
+            start += dropped;
+        }
+    }
+
+    /**
+     * Gets the notifications the observer didn't receive yet, and marks them as received
+     * If more notifications than fit in a mailbox were published since the last time,
+     * the observer is told how many of the oldest ones were left out
+     *
+     * @param observer The observer that receives the notifications
+     * @return The notifications, in the order they were published
+     */
+    public List<NotificationEvent> receive(final Notifiable observer) {
+        Long cursor = cursors.get(observer);
+        if (cursor == null || cursor == end()) {
+            return List.of();
+        }
+        long first = Math.max(Math.max(cursor, start), end() - NotificationMailbox.getCapacity());
+        if (first > cursor) {
+            observer.overflow(first - cursor);
+        }
+        List<NotificationEvent> pending =
+                new ArrayList<>(events.subList((int) (first - start), events.size()));
+        moveCursor(observer, end());
+        trim();
+        return pending;
+    }
+
+    private long end() {
+        return start + events.size();
+    }
+
+    private void moveCursor(final Notifiable observer, final long position) {
+        Long previous = cursors.put(observer, position);
+        if (previous != null) {
+            releaseCursor(previous);
+        }
+        cursorCounts.merge(position, 1, Integer::sum);
+    }
+
+    private void releaseCursor(final long position) {
+        cursorCounts.computeIfPresent(position, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Drops the notifications received by all the observers,
+     * once they make up at least half of the log
+     */
+    private void trim() {
+        Map.Entry<Long, Integer> first = cursorCounts.firstEntry();
+        long received = (first == null ? end() : first.getKey()) - start;
+        if (received > 0 && received * 2 >= events.size()) {
+            events.subList(0, (int) received).clear();
+            start += received;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package notifications;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A bounded mailbox with the notifications a user didn't retrieve yet
+ * The notifications are kept in a ring buffer that holds at most {@link #getCapacity()}
+ * of them, and the buffer is only allocated while the mailbox isn't empty
+ * When the mailbox is full, the oldest notifications are either dropped or collapsed
+ * into a single notification with their count, depending on the overflow policy
+ * The capacity and the policy are read from the {@value #CAPACITY_PROPERTY}
+ * and {@value #POLICY_PROPERTY} system properties
+ */
+public final class NotificationMailbox implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * What happens to the oldest notifications once the mailbox is full
+     */
+    public enum OverflowPolicy {
+        DROP_OLDEST, COLLAPSE
+    }
+
+    static final String CAPACITY_PROPERTY = "notifications.mailboxCapacity";
+    static final String POLICY_PROPERTY = "notifications.overflowPolicy";
+    private static final int DEFAULT_CAPACITY = 1000;
+    private static final int INITIAL_BUFFER_SIZE = 8;
+    private static final NotificationEvent[] EMPTY_BUFFER = new NotificationEvent[0];
+    private static final int CAPACITY = Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY);
+    private static final OverflowPolicy POLICY = OverflowPolicy.valueOf(
+            System.getProperty(POLICY_PROPERTY, OverflowPolicy.DROP_OLDEST.name()));
+
+    static {
+        if (CAPACITY <= 0) {
+            throw new IllegalArgumentException(CAPACITY_PROPERTY + " must be positive");
+        }
+    }
+
+    private NotificationEvent[] buffer = EMPTY_BUFFER;
+    private int head = 0;
+    private int size = 0;
+    private long collapsed = 0;
+
+    /**
+     * Gets the maximum number of notifications kept for a user
+     *
+     * @return The capacity of every mailbox
+     */
+    public static int getCapacity() {
+        return CAPACITY;
+    }
+
+    /**
+     * Gets what happens to the oldest notifications once a mailbox is full
+     *
+     * @return The overflow policy of every mailbox
+     */
+    public static OverflowPolicy getOverflowPolicy() {
+        return POLICY;
+    }
+
+    /**
+     * Adds a notification to the mailbox, making room for it if the mailbox is full
+     *
+     * @param notification The notification to be added
+     */
+    public void add(final NotificationEvent notification) {
+        if (size == CAPACITY) {
+            buffer[head] = notification;
+            head = (head + 1) % CAPACITY;
+            overflow(1);
+            return;
+        }
+        if (size == buffer.length) {
+            grow();
+        }
+        buffer[(head + size) % buffer.length] = notification;
+        size++;
+    }
+
+    /**
+     * Records that some of the oldest notifications didn't fit in the mailbox
+     *
+     * @param count The number of notifications that were left out
+     */
+    public void overflow(final long count) {
+        if (POLICY == OverflowPolicy.COLLAPSE) {
+            collapsed += count;
+        }
+    }
+
+    /**
+     * Empties the mailbox, together with notifications collected from elsewhere
+     * Only the newest notifications that fit in the mailbox are kept,
+     * preceded by the count of the collapsed ones, if there are any
+     *
+     * @param collected The notifications that weren't delivered to the mailbox
+     * @return The output of the notifications, in the order they were sent
+     */
+    public ArrayList<HashMap<String, String>> drain(final List<NotificationEvent> collected) {
+        ArrayList<NotificationEvent> events = new ArrayList<>(size + collected.size());
+        for (int i = 0; i < size; i++) {
+            events.add(buffer[(head + i) % buffer.length]);
+        }
+        events.addAll(collected);
+        events.sort(Comparator.comparingLong(NotificationEvent::sequence));
+        int excess = Math.max(0, events.size() - CAPACITY);
+        overflow(excess);
+
+        ArrayList<HashMap<String, String>> output = new ArrayList<>(events.size() - excess + 1);
+        if (collapsed > 0) {
+            output.add(Notification.getCollapsedNotification(collapsed));
+        }
+        for (NotificationEvent event : events.subList(excess, events.size())) {
+            output.add(event.toOutput());
+        }
+        buffer = EMPTY_BUFFER;
+        head = 0;
+        size = 0;
+        collapsed = 0;
+        return output;
+    }
+
+    private void grow() {
+        NotificationEvent[] grown = new NotificationEvent[
+                Math.min(CAPACITY, Math.max(INITIAL_BUFFER_SIZE, buffer.length * 2))];
+        for (int i = 0; i < size; i++) {
+            grown[i] = buffer[(head + i) % buffer.length];
+        }
+        buffer = grown;
+        head = 0;
+    }
+}
@@ -1,6 +1,6 @@
 package notifications;
 
-import java.util.HashMap;
+import java.util.List;
 
 public interface Notifier {
     /**
@@ -21,9 +21,20 @@ public interface Notifier {
 
     /**
      * Notify all observers from the notifier
+     * The notification is published once, and every observer receives it when it
+     * collects its notifications
      *
-     * @param notification The notification that should be sent to users
+     * @param notificationType The type of the notification that should be sent to users
      */
-    void notifyObservers(HashMap<String, String> notification);
+    void notifyObservers(NotificationType notificationType);
+
+    /**
+     * Collects the notifications the observer didn't receive yet from this notifier
+     *
+     * @param observer The observer that receives the notifications
+     * @return The notifications, in the order they were published
+     * @see NotificationEvent
+     */
+    List<NotificationEvent> collectNotifications(Notifiable observer);
 }
 
@@ -1,5 +1,6 @@
 package playables;
 
+import actors.ActorSystem;
 import entities.audio.Audio;
 import entities.audio.Episode;
 import entities.audio.Song;
@@ -14,10 +15,13 @@ import entities.user.NormalUser;
 import libraries.users.HostsLibrary;
 import lombok.Getter;
 
+import java.io.Serializable;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
-public final class PlayingAudio<T extends Audio> implements Playing {
+public final class PlayingAudio<T extends Audio> implements Playing, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private T playingObject;
     /**
      * -- GETTER --
@@ -107,13 +111,17 @@ public final class PlayingAudio<T extends Audio> implements Playing {
                 setRepeatValue(RepeatType.noRepeat);
 
                 playingObject.addListen(user.getApp().getListenTracker());
+                NormalUser listener = user;
                 if (artist != null) {
                     Song song = (Song) playingObject;
                     String albumName = song.getAlbum();
                     Album songAlbum = AlbumsLibrary.getInstance().getAlbumByName(albumName);
-                    artist.getListenTracker().addListenAll(songAlbum, song, user);
+                    ActorSystem.sendToCreator(artist.getName(), () -> artist.getListenTracker()
+                            .addListenAll(songAlbum, song, listener));
                 } else if (host != null) {
-                    host.getListenTracker().addListenAll((Episode) playingObject, user);
+                    Episode episode = (Episode) playingObject;
+                    ActorSystem.sendToCreator(host.getName(), () -> host.getListenTracker()
+                            .addListenAll(episode, listener));
                 }
             }
         } else if (getRepeatValue().equals(RepeatType.repeatInfinite.getValue())
@@ -122,15 +130,19 @@ public final class PlayingAudio<T extends Audio> implements Playing {
 
                 playingObject.addListen(user.getApp().getListenTracker(),
                         (newRemainedTime / duration));
+                NormalUser listener = user;
                 if (artist != null) {
-                    artist.getListenTracker()
+                    Song song = (Song) playingObject;
+                    int listens = newRemainedTime / duration;
+                    ActorSystem.sendToCreator(artist.getName(), () -> artist.getListenTracker()
                             .addListenAll(album,
-                                    (Song) playingObject,
-                                    user,
-                                    newRemainedTime / duration);
+                                    song,
+                                    listener,
+                                    listens));
                 } else if (host != null) {
-                    host.getListenTracker()
-                            .addListenAll((Episode) playingObject, user);
+                    Episode episode = (Episode) playingObject;
+                    ActorSystem.sendToCreator(host.getName(), () -> host.getListenTracker()
+                            .addListenAll(episode, listener));
                 }
                 newRemainedTime = (newRemainedTime % duration + duration) % duration;
 
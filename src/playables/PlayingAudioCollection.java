@@ -1,5 +1,6 @@
 package playables;
 
+import actors.ActorSystem;
 import entities.audio.Audio;
 import entities.audio.Episode;
 import entities.audio.Song;
@@ -13,12 +14,15 @@ import entities.user.Artist;
 import entities.user.NormalUser;
 import libraries.users.HostsLibrary;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 public final class PlayingAudioCollection<T extends Collection<? extends Audio>>
-        implements Playing {
+        implements Playing, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final T playingCollection;
     private final ArrayList<PlayingAudio<? extends Audio>> playableObjects;
     private int playingNowIndex = 0;
@@ -230,12 +234,14 @@ public final class PlayingAudioCollection<T extends Collection<? extends Audio>>
                             .addListen(user.getApp().getListenTracker());
                     playingCollection.addListen(user.getApp().getListenTracker());
                     if (artist != null) {
-                        artist.getListenTracker().addListenAll((Album) playingCollection,
-                                (Song) getPlayingNowObject().getPlayingObject(),
-                                user);
+                        Album album = (Album) playingCollection;
+                        Song song = (Song) getPlayingNowObject().getPlayingObject();
+                        ActorSystem.sendToCreator(artist.getName(), () -> artist
+                                .getListenTracker().addListenAll(album, song, user));
                     } else if (host != null) {
                         Episode episode = (Episode) getPlayingNowObject().getPlayingObject();
-                        host.getListenTracker().addListenAll(episode, user);
+                        ActorSystem.sendToCreator(host.getName(), () -> host.getListenTracker()
+                                .addListenAll(episode, user));
                     }
                 }
             }
@@ -1,6 +1,10 @@
 package profile.artist;
 
-public final class Event {
+import java.io.Serializable;
+
+public final class Event implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final String name;
     private final String description;
     private final String date;
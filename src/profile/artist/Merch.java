@@ -2,7 +2,11 @@ package profile.artist;
 
 import lombok.Getter;
 
-public final class Merch {
+import java.io.Serializable;
+
+public final class Merch implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     @Getter
     private final String name;
     @Getter
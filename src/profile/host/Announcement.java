@@ -2,8 +2,12 @@ package profile.host;
 
 import lombok.Getter;
 
+import java.io.Serializable;
+
 @Getter
-public final class Announcement {
+public final class Announcement implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final String name;
     private final String description;
 
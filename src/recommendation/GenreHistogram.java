@@ -0,0 +1,85 @@
+package recommendation;
+
+import entities.audio.Song;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps how many times each genre occurs in the songs of a user
+ * (liked songs, own playlists and followed playlists)
+ * The counts are updated incrementally, every time one of these collections changes
+ */
+public final class GenreHistogram implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final HashMap<String, Long> counts = new HashMap<>();
+
+    /**
+     * Counts one more occurrence for the genre of the specified song
+     *
+     * @param song The song that was added
+     */
+    public void addSong(final Song song) {
+        counts.merge(song.getGenre(), 1L, Long::sum);
+    }
+
+    /**
+     * Counts one less occurrence for the genre of the specified song
+     * Genres that don't occur anymore are removed
+     *
+     * @param song The song that was removed
+     */
+    public void removeSong(final Song song) {
+        counts.computeIfPresent(song.getGenre(), (genre, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Counts all the songs in the specified list
+     *
+     * @param songs The songs that were added
+     */
+    public void addSongs(final Iterable<Song> songs) {
+        for (Song song : songs) {
+            addSong(song);
+        }
+    }
+
+    /**
+     * Removes all the songs in the specified list from the counts
+     *
+     * @param songs The songs that were removed
+     */
+    public void removeSongs(final Iterable<Song> songs) {
+        for (Song song : songs) {
+            removeSong(song);
+        }
+    }
+
+    /**
+     * Gets the most common genres, in descending order of their occurrences
+     * Genres with the same number of occurrences keep the iteration order of the counts
+     *
+     * @param maxNumber The maximum number of genres to return
+     * @return A list with the names of the most common genres
+     */
+    public List<String> topGenres(final int maxNumber) {
+        ArrayList<Map.Entry<String, Long>> top = new ArrayList<>(maxNumber);
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            int position = top.size();
+            while (position > 0 && top.get(position - 1).getValue() < entry.getValue()) {
+                position--;
+            }
+            if (position < maxNumber) {
+                if (top.size() == maxNumber) {
+                    top.remove(maxNumber - 1);
+                }
+                top.add(position, entry);
+            }
+        }
+        return top.stream().map(Map.Entry::getKey).toList();
+    }
+}
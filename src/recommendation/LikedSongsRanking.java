@@ -0,0 +1,138 @@
+package recommendation;
+
+import entities.audio.Song;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the liked songs of a user ordered descending by their likes
+ * Songs with the same number of likes keep the order in which they were liked
+ * When the likes of one of its songs change, the song only marks the ranking as stale,
+ * through its likers: the ranking is ranked again when it's next read, so rankings
+ * of users that didn't like the song are left alone
+ * The previous order is kept between rankings, so ranking again after a few changes
+ * only moves the songs that changed
+ */
+public final class LikedSongsRanking implements Iterable<Song>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final Comparator<RankedSong> BY_LIKES = (Comparator<RankedSong> & Serializable)
+            (first, second) -> first.likes != second.likes
+                    ? Integer.compare(second.likes, first.likes)
+                    : Long.compare(first.sequence, second.sequence);
+
+    private final ArrayList<RankedSong> ranking = new ArrayList<>();
+    private final Map<Song, RankedSong> rankedSongs = new HashMap<>();
+    private long nextSequence = 0;
+    /**
+     * Whether songs were added or their likes changed since the ranking was last ranked
+     */
+    private boolean stale = false;
+
+    /**
+     * Adds a newly liked song to the ranking
+     *
+     * @param song The liked song
+     */
+    public synchronized void add(final Song song) {
+        RankedSong ranked = new RankedSong(song, nextSequence++);
+        rankedSongs.put(song, ranked);
+        ranking.add(ranked);
+        stale = true;
+    }
+
+    /**
+     * Marks the ranking as stale after the likes count of one of its songs changed
+     *
+     * @param song The song whose likes changed
+     */
+    public synchronized void likesChanged(final Song song) {
+        if (rankedSongs.containsKey(song)) {
+            stale = true;
+        }
+    }
+
+    /**
+     * Removes an unliked song from the ranking
+     *
+     * @param song The unliked song
+     */
+    public synchronized void remove(final Song song) {
+        RankedSong ranked = rankedSongs.remove(song);
+        if (ranked != null) {
+            ranking.remove(ranked);
+        }
+    }
+
+    /**
+     * Gets the number of liked songs
+     *
+     * @return The number of songs in the ranking
+     */
+    public synchronized int size() {
+        return ranking.size();
+    }
+
+    /**
+     * Gets the most liked songs
+     *
+     * @param maxNumber The maximum number of songs to return
+     * @return A list with the most liked songs, in descending order of their likes
+     */
+    public synchronized List<Song> top(final long maxNumber) {
+        rank();
+        int size = (int) Math.min(maxNumber, ranking.size());
+        List<Song> top = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            top.add(ranking.get(i).song);
+        }
+        return top;
+    }
+
+    /**
+     * Iterates over the liked songs, from the most liked to the least liked
+     * The iterator goes over the ranking at the moment it was created
+     *
+     * @return An iterator over the liked songs
+     */
+    @Override
+    public Iterator<Song> iterator() {
+        return top(Long.MAX_VALUE).iterator();
+    }
+
+    /**
+     * Ranks the songs again if songs were added or their likes changed since the last time
+     */
+    private void rank() {
+        if (!stale) {
+            return;
+        }
+        for (RankedSong ranked : ranking) {
+            ranked.likes = ranked.song.getLikes();
+        }
+        ranking.sort(BY_LIKES);
+        stale = false;
+    }
+
+    private static final class RankedSong implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Song song;
+        private final long sequence;
+        /**
+         * The likes count of the song when it was last ranked
+         */
+        private int likes;
+
+        RankedSong(final Song song, final long sequence) {
+            this.song = song;
+            this.sequence = sequence;
+        }
+    }
+}
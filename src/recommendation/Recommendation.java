@@ -1,6 +1,5 @@
 package recommendation;
 
-import commands.normalUser.searchBar.filter.filterAudio.FilterSongs;
 import entities.audio.Song;
 import entities.audio.collections.Playlist;
 import entities.user.Artist;
@@ -10,14 +9,12 @@ import libraries.users.ArtistsLibrary;
 import playables.PlayingAudio;
 
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 public final class Recommendation {
     private static final int FAN_SONGS_COUNT = 5;
@@ -47,24 +44,66 @@ public final class Recommendation {
                 .getPlayingAudio()
                 .getPlayingObject()
                 .getOwner();
+        Artist artist = ArtistsLibrary.getInstance().getArtistByName(artistName);
+        return fansRecommendations(artist);
+    }
+
+    /**
+     * Gets the top fans recommendations in a playlist for the specified artist
+     *
+     * @param artist The artist for which we select the fans
+     * @return A playlist with the recommended songs
+     */
+    public static Playlist fansRecommendations(final Artist artist) {
+        return fansRecommendations(artist.getName(), fanRankings(artist));
+    }
+
+    /**
+     * Gets the most liked songs of the top fans of an artist
+     * For every fan, only the songs that can end up in the fan club playlist are kept:
+     * each fan adds at most {@value #FAN_SONGS_COUNT} songs, skipping the ones with the
+     * same name as a song added by a previous fan
+     *
+     * @param artist The artist for which we select the fans
+     * @return The liked songs of every top fan, from the most liked to the least liked
+     */
+    public static List<List<Song>> fanRankings(final Artist artist) {
+        List<NormalUser> topFans = artist.getListenTracker().topFans();
+        List<List<Song>> rankings = new ArrayList<>(topFans.size());
+        for (NormalUser fan : topFans) {
+            rankings.add(fan.getLikedSongsRanking()
+                    .top((long) FAN_SONGS_COUNT * (rankings.size() + 1)));
+        }
+        return rankings;
+    }
+
+    /**
+     * Builds the fan club playlist of an artist from the liked songs of the top fans
+     *
+     * @param artistName  The name of the artist
+     * @param fanRankings The liked songs of every top fan, from the most liked to the least
+     * @return A playlist with the recommended songs
+     */
+    public static Playlist fansRecommendations(final String artistName,
+                                               final List<List<Song>> fanRankings) {
         String playlistName = artistName + " Fan Club recommendations";
         Playlist fansPlaylist = new Playlist(playlistName,
                 artistName,
                 new ArrayList<>());
-        Artist artist = ArtistsLibrary.getInstance().getArtistByName(artistName);
-        List<NormalUser> topFans = artist.getListenTracker().topFans();
-        for (NormalUser fan : topFans) {
-            Optional<Playlist> liked = Optional.ofNullable(fan.getLiked());
-            List<Song> likedSongs = liked.map(likedObj ->
-                            likedObj.getCollection().stream()
-                                    .sorted(Comparator.comparingInt(Song::getLikes).reversed())
-                                    .filter(song -> !fansPlaylist.contains(song.getName()))
-                                    .limit(FAN_SONGS_COUNT)
-                                    .toList())
-                    .orElse(List.of());
+        Set<String> songNames = new HashSet<>();
+        for (List<Song> fanRanking : fanRankings) {
+            List<Song> likedSongs = new ArrayList<>(FAN_SONGS_COUNT);
+            Iterator<Song> ranking = fanRanking.iterator();
+            while (likedSongs.size() < FAN_SONGS_COUNT && ranking.hasNext()) {
+                Song song = ranking.next();
+                if (!songNames.contains(song.getName())) {
+                    likedSongs.add(song);
+                }
+            }
 
             for (Song song : likedSongs) {
                 fansPlaylist.addItem(song);
+                songNames.add(song.getName());
             }
         }
         return fansPlaylist;
@@ -77,19 +116,27 @@ public final class Recommendation {
      * @return A playlist with the recommended songs
      */
     public static Playlist randomPlaylist(final NormalUser user) {
-        String username = user.getName();
+        return randomPlaylist(user.getName(), getTopGenres(user),
+                SongsLibrary.getInstance()::getSongsForGenreByLikes);
+    }
+
+    /**
+     * Gets a random playlist recommendation from the top genres of a user
+     *
+     * @param username     The name of the user
+     * @param topGenres    The top genres of the user, from the most listened
+     * @param songsByLikes Iterates over the songs of a genre, ordered by likes
+     * @return A playlist with the recommended songs
+     */
+    public static Playlist randomPlaylist(final String username, final List<String> topGenres,
+                                          final Function<String, Iterator<Song>> songsByLikes) {
         Playlist playlist = new Playlist(username + "'s recommendations",
                 username,
                 new ArrayList<>());
-        List<String> topGenres = getTopGenres(user);
         for (int i = 0; i < topGenres.size(); i++) {
             String genre = topGenres.get(i);
 
-            FilterSongs filterSongs = new FilterSongs(SongsLibrary.getInstance().getItems());
-            ArrayList<Song> songsForGenre = filterSongs.byGenre(genre).getFilteredObjects();
-            List<Song> sortedSongsForGenre = songsForGenre.stream()
-                    .sorted(Comparator.comparing(Song::getLikes))
-                    .toList();
+            Iterator<Song> genreSongs = songsByLikes.apply(genre);
 
             int limit = switch (i) {
                 case FIRST -> SONGS_FROM_FIRST_GENRE;
@@ -97,74 +144,28 @@ public final class Recommendation {
                 case THIRD -> SONGS_FROM_THIRD_GENRE;
                 default -> 0;
             };
-            sortedSongsForGenre.stream()
-                    .filter(song -> !playlist.contains(song.getName()))
-                    .limit(limit)
-                    .forEach(playlist::addItem);
+            int added = 0;
+            while (added < limit && genreSongs.hasNext()) {
+                Song song = genreSongs.next();
+                if (!playlist.contains(song.getName())) {
+                    playlist.addItem(song);
+                    added++;
+                }
+            }
         }
         return playlist;
     }
 
     /**
      * Gets the top 3 genres for the specified user
-     * It searches through all the songs in: liked songs, followed playlists and own playlists
-     * And counts how many times each genre occurs
+     * The genres are counted incrementally for all the songs in: liked songs,
+     * followed playlists and own playlists
      *
      * @param user The user we calculate the top genres for
      * @return A list with the top genres names
      */
-    private static List<String> getTopGenres(final NormalUser user) {
-        Playlist liked = user.getLiked();
-        HashMap<String, Long> genres;
-        if (liked != null) {
-            ArrayList<Song> likedSongs = user.getLiked().getCollection();
-            genres = likedSongs.stream()
-                    .map(Song::getGenre)
-                    .collect(Collectors.groupingBy(Function.identity(),
-                            HashMap<String, Long>::new,
-                            Collectors.counting()));
-        } else {
-            genres = new HashMap<>();
-        }
-
-        ArrayList<Playlist> playlists = user.getPlaylists();
-        if (playlists != null) {
-            for (Playlist playlist : playlists) {
-                merge(genres, playlist);
-            }
-        }
-
-        ArrayList<Playlist> followedPlaylists = user.getFollowedPlaylists();
-        if (followedPlaylists != null) {
-            for (Playlist playlist : followedPlaylists) {
-                merge(genres, playlist);
-            }
-        }
-
-        List<String> topGenres = genres.entrySet()
-                .stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .map(Map.Entry::getKey)
-                .toList();
-
-        return topGenres.subList(0, Math.min(topGenres.size(), TOP_GENRES_COUNT));
-    }
-
-    /**
-     * Merge a map with kept genres count with the genres count calculated for a playlist
-     *
-     * @param mainMap The map to merge to
-     * @param playlistToMerge The playlist to merge from
-     */
-    private static void merge(final HashMap<String, Long> mainMap,
-                              final Playlist playlistToMerge) {
-        HashMap<String, Long> genresInPlaylist = playlistToMerge.getCollection()
-                .stream()
-                .map(Song::getGenre)
-                .collect(Collectors.groupingBy(Function.identity(),
-                        HashMap::new,
-                        Collectors.counting()));
-        genresInPlaylist.forEach((genre, count) -> mainMap.merge(genre, count, Long::sum));
+    public static List<String> getTopGenres(final NormalUser user) {
+        return user.getGenreHistogram().topGenres(TOP_GENRES_COUNT);
     }
 
     /**
@@ -194,14 +195,37 @@ public final class Recommendation {
 
         int remainedTime = playingAudio.getRemainedTime();
         int elapsedTime = song.getDuration() - remainedTime;
+        return randomSong(song, elapsedTime);
+    }
+
+    /**
+     * Gets a random song recommendation from the same genre as the specified song
+     *
+     * @param song        The song listened by the user at the moment
+     * @param elapsedTime The time the user has been listening to that song
+     * @return A random song from the same genre, or {@code null} if the song
+     * wasn't listened long enough
+     */
+    public static Song randomSong(final Song song, final int elapsedTime) {
         if (elapsedTime < TIME) {
             return null;
         }
+        return randomSong(elapsedTime,
+                SongsLibrary.getInstance().getSongsForGenre(song.getGenre()));
+    }
 
-        String genre = song.getGenre();
-
-        FilterSongs filterSongs = new FilterSongs(SongsLibrary.getInstance().getItems());
-        ArrayList<Song> songsForGenre = filterSongs.byGenre(genre).getFilteredObjects();
+    /**
+     * Gets a random song recommendation from the songs of a genre
+     *
+     * @param elapsedTime   The time the user has been listening to a song of that genre
+     * @param songsForGenre The songs of the genre, in library order
+     * @return A random song from the genre, or {@code null} if the song
+     * wasn't listened long enough
+     */
+    public static Song randomSong(final int elapsedTime, final List<Song> songsForGenre) {
+        if (elapsedTime < TIME) {
+            return null;
+        }
 
         Random random = new Random(elapsedTime);
         int index = random.nextInt(songsForGenre.size());
@@ -0,0 +1,212 @@
+package recommendation;
+
+import entities.audio.Audio;
+import entities.audio.Song;
+import entities.audio.collections.Playlist;
+import entities.user.Artist;
+import entities.user.NormalUser;
+import libraries.audio.SongsLibrary;
+import libraries.users.ArtistsLibrary;
+import libraries.users.NormalUsersLibrary;
+import playables.PlayingAudio;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Refreshes the recommendations for many users at once
+ * The refresh has three phases:
+ * - a sequential snapshot of what every selected user is listening to, and of the parts of
+ * the libraries the recommendations are computed from
+ * - a parallel computation of the recommendations, which only reads the snapshot
+ * - a sequential commit of the results, done only after all of them were computed
+ * No command should run while a refresh is in progress
+ * When the {@value #PERIOD_PROPERTY} system property is set, all the recommendations of all
+ * the users are refreshed every time the clock passes a multiple of that period
+ */
+public final class RecommendationBatch {
+    public static final String PERIOD_PROPERTY = "recommendations.refreshEvery";
+    private static final Integer PERIOD = Integer.getInteger(PERIOD_PROPERTY);
+
+    private RecommendationBatch() {
+    }
+
+    /**
+     * Refreshes all the recommendations of all the users if the clock passed a multiple
+     * of the {@value #PERIOD_PROPERTY} since the previous time
+     *
+     * @param previousTime The time before the clock moved
+     * @param time         The current time
+     */
+    public static void refreshIfDue(final int previousTime, final int time) {
+        if (PERIOD != null && Math.floorDiv(time, PERIOD) > Math.floorDiv(previousTime, PERIOD)) {
+            refreshAll(List.of(RecommendationType.values()));
+        }
+    }
+
+    /**
+     * Refreshes the specified recommendation types for all the normal users
+     *
+     * @param types The recommendation types to compute, in the order they are added
+     */
+    public static void refreshAll(final List<RecommendationType> types) {
+        refresh(user -> true, types);
+    }
+
+    /**
+     * Refreshes the specified recommendation types for the users accepted by the filter
+     * The results are added with the same rules as the {@code updateRecommendations} command:
+     * fan playlists are always added, random playlists only if they are not empty
+     * and random songs only if one was found
+     * Fan playlists can only be computed for users that are listening to a song of an artist
+     *
+     * @param filter The filter for the users to refresh
+     * @param types  The recommendation types to compute, in the order they are added
+     */
+    public static void refresh(final Predicate<NormalUser> filter,
+                               final List<RecommendationType> types) {
+        List<NormalUser> users = NormalUsersLibrary.getInstance().getItems();
+        if (users == null) {
+            return;
+        }
+
+        LibrarySnapshot library = new LibrarySnapshot();
+        List<UserSnapshot> snapshots = new ArrayList<>();
+        for (NormalUser user : users) {
+            if (filter.test(user)) {
+                UserSnapshot snapshot = UserSnapshot.of(user, types);
+                library.add(snapshot, types);
+                snapshots.add(snapshot);
+            }
+        }
+
+        List<Result> results = snapshots.parallelStream()
+                .map(snapshot -> compute(snapshot, library, types))
+                .toList();
+
+        results.forEach(Result::commit);
+    }
+
+    private static Result compute(final UserSnapshot snapshot, final LibrarySnapshot library,
+                                  final List<RecommendationType> types) {
+        Map<RecommendationType, Object> recommendations = new EnumMap<>(RecommendationType.class);
+        for (RecommendationType type : types) {
+            Object recommendation = switch (type) {
+                case fansPlaylist -> snapshot.artist() != null
+                        ? Recommendation.fansRecommendations(snapshot.artist().getName(),
+                        library.fanRankings.get(snapshot.artist()))
+                        : null;
+                case randomPlaylist -> Recommendation.randomPlaylist(
+                        snapshot.user().getName(), snapshot.topGenres(),
+                        genre -> library.songsForGenreByLikes.get(genre).iterator());
+                case randomSong -> snapshot.song() != null
+                        ? Recommendation.randomSong(snapshot.elapsedTime(),
+                        library.songsForGenre.get(snapshot.song().getGenre()))
+                        : null;
+            };
+            if (recommendation != null) {
+                recommendations.put(type, recommendation);
+            }
+        }
+        return new Result(snapshot.user(), types, recommendations);
+    }
+
+    /**
+     * What a user is listening to at the moment the refresh starts
+     *
+     * @param user        The user
+     * @param song        The song in the user's player, or {@code null}
+     * @param elapsedTime The time the user has been listening to that song
+     * @param artist      The artist of the song, or {@code null} if it doesn't have an account
+     * @param topGenres   The top genres of the user, or an empty list if they aren't needed
+     */
+    private record UserSnapshot(NormalUser user, Song song, int elapsedTime, Artist artist,
+                                List<String> topGenres) {
+        static UserSnapshot of(final NormalUser user, final List<RecommendationType> types) {
+            List<String> topGenres = types.contains(RecommendationType.randomPlaylist)
+                    ? Recommendation.getTopGenres(user) : List.of();
+            if (!user.hasApp()) {
+                return new UserSnapshot(user, null, 0, null, topGenres);
+            }
+            PlayingAudio<?> playingAudio = user.getApp().getPlayerManager().getPlayingAudio();
+            if (playingAudio == null) {
+                return new UserSnapshot(user, null, 0, null, topGenres);
+            }
+            Audio audio = playingAudio.getPlayingObject();
+            if (!(audio instanceof Song song)) {
+                return new UserSnapshot(user, null, 0, null, topGenres);
+            }
+            int elapsedTime = song.getDuration() - playingAudio.getRemainedTime();
+            Artist artist = ArtistsLibrary.getInstance().getArtistByName(song.getOwner());
+            return new UserSnapshot(user, song, elapsedTime, artist, topGenres);
+        }
+    }
+
+    /**
+     * The parts of the libraries the recommendations of the selected users are computed from
+     * They are copied before the parallel phase, so it never reads the libraries themselves
+     */
+    private static final class LibrarySnapshot {
+        private final Map<Artist, List<List<Song>>> fanRankings = new HashMap<>();
+        private final Map<String, List<Song>> songsForGenreByLikes = new HashMap<>();
+        private final Map<String, List<Song>> songsForGenre = new HashMap<>();
+
+        /**
+         * Copies what the recommendations of a user need, if it wasn't already copied
+         *
+         * @param user  What the user is listening to
+         * @param types The recommendation types to compute
+         */
+        void add(final UserSnapshot user, final List<RecommendationType> types) {
+            if (types.contains(RecommendationType.fansPlaylist) && user.artist() != null) {
+                fanRankings.computeIfAbsent(user.artist(), Recommendation::fanRankings);
+            }
+            for (String genre : user.topGenres()) {
+                songsForGenreByLikes.computeIfAbsent(genre, key -> {
+                    List<Song> songs = new ArrayList<>();
+                    Iterator<Song> byLikes = SongsLibrary.getInstance()
+                            .getSongsForGenreByLikes(key);
+                    byLikes.forEachRemaining(songs::add);
+                    return songs;
+                });
+            }
+            if (types.contains(RecommendationType.randomSong) && user.song() != null) {
+                songsForGenre.computeIfAbsent(user.song().getGenre(), key ->
+                        List.copyOf(SongsLibrary.getInstance().getSongsForGenre(key)));
+            }
+        }
+    }
+
+    /**
+     * The recommendations computed for a user, not yet visible to the user
+     */
+    private record Result(NormalUser user,
+                          List<RecommendationType> types,
+                          Map<RecommendationType, Object> recommendations) {
+        void commit() {
+            for (RecommendationType type : types) {
+                Object recommendation = recommendations.get(type);
+                if (recommendation == null) {
+                    continue;
+                }
+                switch (type) {
+                    case fansPlaylist -> user.addRecommendedPlaylist((Playlist) recommendation);
+                    case randomPlaylist -> {
+                        Playlist playlist = (Playlist) recommendation;
+                        if (!playlist.getCollection().isEmpty()) {
+                            user.addRecommendedPlaylist(playlist);
+                        }
+                    }
+                    case randomSong -> user.addRecommendedSong((Song) recommendation);
+                    default -> {
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package recommendation;
+
+/**
+ * For recommendation types
+ */
+public enum RecommendationType {
+    fansPlaylist("fans_playlist"), randomPlaylist("random_playlist"), randomSong("random_song");
+    private final String type;
+
+    RecommendationType(final String type) {
+        this.type = type;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Transforms the type given as an input from {@code String} to
+     * {@code RecommendationType}
+     *
+     * @param type the type as a string
+     * @return The type as a RecommendationType
+     */
+    public static RecommendationType fromString(final String type) {
+        for (RecommendationType recommendationType : RecommendationType.values()) {
+            if (recommendationType.type.equals(type)) {
+                return recommendationType;
+            }
+        }
+        throw new IllegalArgumentException("No RecommendationType with type " + type + " found");
+    }
+}
@@ -4,9 +4,9 @@ import entities.audio.Song;
 import entities.audio.collections.Album;
 import entities.user.Artist;
 
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
@@ -23,7 +23,7 @@ public final class ArtistCalculateRevenue implements CalculateRevenueStrategy {
         TreeMap<String, Double> songsRevenueList = new TreeMap<>();
         HashSet<Album> albums = artist.getAlbums();
         for (Album album : albums) {
-            ArrayList<Song> songs = album.getCollection();
+            List<Song> songs = album.getCollection();
             for (Song song : songs) {
                 double revenue = song.getRevenue();
                 if (revenue > 0) {
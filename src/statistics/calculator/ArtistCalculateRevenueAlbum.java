@@ -4,7 +4,7 @@ import entities.audio.Song;
 import entities.audio.collections.Album;
 import entities.user.Artist;
 
-import java.util.ArrayList;
+import java.util.List;
 import java.util.TreeMap;
 
 public final class ArtistCalculateRevenueAlbum implements CalculateRevenueStrategy {
@@ -19,7 +19,7 @@ public final class ArtistCalculateRevenueAlbum implements CalculateRevenueStrate
     @Override
     public void calculateRevenue() {
         TreeMap<String, Double> songsRevenueList = new TreeMap<>();
-        ArrayList<Song> songs = album.getCollection();
+        List<Song> songs = album.getCollection();
         for (Song song : songs) {
             double revenue = song.getRevenue();
             if (revenue > 0) {
@@ -1,6 +1,10 @@
 package statistics.calculator;
 
-public final class RevenueCalculator {
+import java.io.Serializable;
+
+public final class RevenueCalculator implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     /**
      * Calculates the revenue with the specified calculation strategy
      *
@@ -3,6 +3,7 @@ package statistics.listenTrackers;
 import entities.Entity;
 import lombok.Getter;
 
+import java.io.Serializable;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -11,9 +12,12 @@ import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Getter
-public class ListenTracker<E extends Entity> {
+public class ListenTracker<E extends Entity> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private static final int NUMBER_TOP_RESULTS = 5;
-    private final TreeMap<E, Integer> listens = new TreeMap<>(Comparator.comparing(E::getName));
+    private final TreeMap<E, Integer> listens = new TreeMap<>((Comparator<E> & Serializable)
+            (first, second) -> first.getName().compareTo(second.getName()));
 
 
     /**
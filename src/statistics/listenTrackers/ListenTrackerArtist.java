@@ -5,11 +5,14 @@ import entities.audio.collections.Album;
 import entities.user.NormalUser;
 import libraries.audio.AlbumsLibrary;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 
-public final class ListenTrackerArtist {
+public final class ListenTrackerArtist implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final ListenTracker<Album> albumsListenTracker = new ListenTracker<>();
     private final ListenTracker<Song> songsListenTracker = new ListenTracker<>();
     private final ListenTracker<NormalUser> fansListenTracker = new ListenTracker<>();
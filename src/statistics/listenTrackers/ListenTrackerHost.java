@@ -3,10 +3,13 @@ package statistics.listenTrackers;
 import entities.audio.Episode;
 import entities.user.NormalUser;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 
-public class ListenTrackerHost {
+public class ListenTrackerHost implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final ListenTracker<Episode> episodesListenTracker = new ListenTracker<>();
     private final ListenTracker<NormalUser> fansListenTracker = new ListenTracker<>();
 
@@ -7,11 +7,14 @@ import entities.audio.Song;
 import entities.audio.collections.Album;
 import libraries.audio.AlbumsLibrary;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.TreeMap;
 
-public final class ListenTrackerNormalUser {
+public final class ListenTrackerNormalUser implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final ListenTracker<NameableEntity> artistsListenTracker = new ListenTracker<>();
     private final ListenTracker<Album> albumsListenTracker = new ListenTracker<>();
     private final ListenTracker<Song> songsListenTracker = new ListenTracker<>();